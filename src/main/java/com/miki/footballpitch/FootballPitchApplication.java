@@ -3,8 +3,10 @@ package com.miki.footballpitch;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.modulith.Modulith;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Modulith
+@EnableScheduling
 public class FootballPitchApplication
 {
     public static void main(String[] args)
@@ -0,0 +1,148 @@
+package com.miki.footballpitch.booking;
+
+import com.miki.footballpitch.booking.model.AvailableWindow;
+import com.miki.footballpitch.pitch.model.Pitch;
+import com.miki.footballpitch.pitch.model.PitchFacade;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static com.miki.footballpitch.booking.SlotOccupancyCalendar.SLOTS_PER_DAY;
+import static com.miki.footballpitch.booking.SlotOccupancyCalendar.SLOT_MINUTES;
+
+/**
+ * Turns the runs of free slots in the {@link SlotOccupancyCalendar} into bookable windows.
+ * Windows are slot aligned, so a slot only partly covered by a booking is never offered.
+ */
+@Component
+class AvailabilitySearch
+{
+    private final SlotOccupancyCalendar slotOccupancyCalendar;
+    private final PitchFacade pitchFacade;
+    private final int maxRangeDays;
+
+    AvailabilitySearch(SlotOccupancyCalendar slotOccupancyCalendar,
+                       PitchFacade pitchFacade,
+                       @Value("${booking.availability.max-range-days:31}") int maxRangeDays)
+    {
+        this.slotOccupancyCalendar = slotOccupancyCalendar;
+        this.pitchFacade = pitchFacade;
+        this.maxRangeDays = maxRangeDays;
+    }
+
+    List<AvailableWindow> findAvailableWindows(Long pitchId, LocalDateTime from, LocalDateTime to, int minDurationMinutes)
+    {
+        validateRange(from, to);
+
+        List<Long> pitchIds = pitchId != null ? List.of(pitchId) : activePitchIds();
+        List<AvailableWindow> windows = new ArrayList<>();
+        pitchIds.forEach(id -> collectWindows(id, from, to, minDurationMinutes, windows));
+        return windows;
+    }
+
+    private void collectWindows(Long pitchId, LocalDateTime from, LocalDateTime to, int minDurationMinutes,
+                                List<AvailableWindow> windows)
+    {
+        LocalDate firstDate = from.toLocalDate();
+        LocalDate lastDate = to.toLocalDate();
+        LocalDateTime windowStart = null;
+
+        for (LocalDate date = firstDate; !date.isAfter(lastDate); date = date.plusDays(1))
+        {
+            int slot = date.equals(firstDate) ? firstSlotAtOrAfter(from) : 0;
+            int endSlot = date.equals(lastDate) ? SlotOccupancyCalendar.slotOf(to) : SLOTS_PER_DAY;
+
+            while (slot < endSlot)
+            {
+                if (windowStart == null)
+                {
+                    int freeSlot = slotOccupancyCalendar.nextFreeSlot(pitchId, date, slot);
+                    if (freeSlot >= endSlot)
+                    {
+                        break;
+                    }
+                    windowStart = slotStart(date, freeSlot);
+                    slot = freeSlot;
+                }
+
+                int occupiedSlot = Math.min(slotOccupancyCalendar.nextOccupiedSlot(pitchId, date, slot), endSlot);
+                if (occupiedSlot < endSlot)
+                {
+                    addWindow(pitchId, windowStart, slotStart(date, occupiedSlot), minDurationMinutes, windows);
+                    windowStart = null;
+                }
+                slot = occupiedSlot;
+            }
+        }
+
+        if (windowStart != null)
+        {
+            addWindow(pitchId, windowStart, slotStart(lastDate, SlotOccupancyCalendar.slotOf(to)), minDurationMinutes, windows);
+        }
+    }
+
+    private void addWindow(Long pitchId, LocalDateTime start, LocalDateTime end, int minDurationMinutes,
+                           List<AvailableWindow> windows)
+    {
+        int durationMinutes = (int) Duration.between(start, end).toMinutes();
+        if (durationMinutes >= minDurationMinutes)
+        {
+            windows.add(new AvailableWindow(pitchId, start, end, durationMinutes));
+        }
+    }
+
+    private void validateRange(LocalDateTime from, LocalDateTime to)
+    {
+        if (!from.isBefore(to))
+        {
+            throw new IllegalArgumentException("Availability range start must be before its end");
+        }
+        if (from.plusDays(maxRangeDays).isBefore(to))
+        {
+            throw new IllegalArgumentException("Availability range must not exceed " + maxRangeDays + " days");
+        }
+    }
+
+    private List<Long> activePitchIds()
+    {
+        return pitchFacade.getActivePitches()
+                .stream()
+                .map(Pitch::id)
+                .map(AvailabilitySearch::toBookingPitchId)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private static Long toBookingPitchId(String pitchId)
+    {
+        try
+        {
+            return Long.valueOf(pitchId);
+        }
+        catch (NumberFormatException e)
+        {
+            return null;
+        }
+    }
+
+    private static int firstSlotAtOrAfter(LocalDateTime time)
+    {
+        int minuteOfDay = time.getHour() * 60 + time.getMinute();
+        if (time.getSecond() > 0 || time.getNano() > 0)
+        {
+            minuteOfDay++;
+        }
+        return (minuteOfDay + SLOT_MINUTES - 1) / SLOT_MINUTES;
+    }
+
+    private static LocalDateTime slotStart(LocalDate date, int slot)
+    {
+        return date.atStartOfDay().plusMinutes((long) slot * SLOT_MINUTES);
+    }
+}
@@ -0,0 +1,172 @@
+package com.miki.footballpitch.booking;
+
+import com.miki.footballpitch.booking.model.BookingBatchItemResult;
+import com.miki.footballpitch.booking.model.BookingBatchResponse;
+import com.miki.footballpitch.booking.model.BookingCreated;
+import com.miki.footballpitch.booking.model.BookingRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Validates a whole batch against the booking schedule and against itself while holding every
+ * stripe it touches, then persists the accepted bookings with a single saveAll so Hibernate can
+ * send them as JDBC batches.
+ */
+@Component
+class BatchBookingProcessor
+{
+    static final String IN_BATCH_OVERLAP = "Booking overlaps another booking in this batch";
+
+    private final BookingRepository bookingRepository;
+    private final BookingSchedule bookingSchedule;
+    private final BookingLocks bookingLocks;
+    private final SlotHoldRegistry slotHoldRegistry;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionOperations transactionOperations;
+    private final int maxAllowedBookingMinute;
+
+    BatchBookingProcessor(BookingRepository bookingRepository,
+                          BookingSchedule bookingSchedule,
+                          BookingLocks bookingLocks,
+                          SlotHoldRegistry slotHoldRegistry,
+                          Validator validator,
+                          ApplicationEventPublisher eventPublisher,
+                          TransactionOperations transactionOperations,
+                          @Value("${max_booking_minute}") int maxAllowedBookingMinute)
+    {
+        this.bookingRepository = bookingRepository;
+        this.bookingSchedule = bookingSchedule;
+        this.bookingLocks = bookingLocks;
+        this.slotHoldRegistry = slotHoldRegistry;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.transactionOperations = transactionOperations;
+        this.maxAllowedBookingMinute = maxAllowedBookingMinute;
+    }
+
+    BookingBatchResponse process(List<BookingRequest> requests)
+    {
+        String[] errors = new String[requests.size()];
+        List<Integer> candidates = new ArrayList<>();
+        for (int index = 0; index < requests.size(); index++)
+        {
+            errors[index] = constraintViolations(requests.get(index));
+            if (errors[index] == null)
+            {
+                candidates.add(index);
+            }
+        }
+
+        Map<Integer, BookingEntity> saved = candidates.isEmpty()
+                ? Map.of()
+                : bookingLocks.withPitchesAndPlayers(
+                        candidates.stream().map(index -> requests.get(index).pitchId()).toList(),
+                        candidates.stream().map(index -> requests.get(index).playerId()).toList(),
+                        () -> validateAndSave(requests, candidates, errors));
+
+        List<BookingBatchItemResult> results = new ArrayList<>(requests.size());
+        for (int index = 0; index < requests.size(); index++)
+        {
+            BookingEntity bookingEntity = saved.get(index);
+            results.add(bookingEntity != null
+                    ? BookingBatchItemResult.accepted(index, bookingEntity.mapToDto())
+                    : BookingBatchItemResult.rejected(index, errors[index]));
+        }
+        return BookingBatchResponse.of(results);
+    }
+
+    private Map<Integer, BookingEntity> validateAndSave(List<BookingRequest> requests, List<Integer> candidates, String[] errors)
+    {
+        PitchIntervalIndex batchSchedule = new PitchIntervalIndex();
+        Map<PlayerDay, Integer> batchMinutes = new HashMap<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        List<BookingEntity> acceptedEntities = new ArrayList<>();
+
+        for (Integer index : candidates)
+        {
+            BookingRequest request = requests.get(index);
+            LocalDateTime start = request.startTime();
+            LocalDateTime end = start.plusMinutes(request.durationMinutes());
+            PlayerDay playerDay = new PlayerDay(request.playerId(), start.toLocalDate());
+
+            int bookedMinutes = bookingSchedule.bookedMinutes(request.playerId(), playerDay.date())
+                    + batchMinutes.getOrDefault(playerDay, 0);
+            if (bookedMinutes + request.durationMinutes() > maxAllowedBookingMinute)
+            {
+                errors[index] = "Player exceeds daily limit of 2 hours";
+                continue;
+            }
+            if (bookingSchedule.hasConflict(request.pitchId(), start, end))
+            {
+                errors[index] = "Pitch is already booked for this time";
+                continue;
+            }
+            if (slotHoldRegistry.isHeldByAnotherPlayer(request.pitchId(), request.playerId(), start, end))
+            {
+                errors[index] = "Slot is currently held by another player";
+                continue;
+            }
+            if (batchSchedule.hasConflict(request.pitchId(), start, end))
+            {
+                errors[index] = IN_BATCH_OVERLAP;
+                continue;
+            }
+
+            batchSchedule.add(request.pitchId(), start, end);
+            batchMinutes.merge(playerDay, request.durationMinutes(), Integer::sum);
+            acceptedIndexes.add(index);
+            acceptedEntities.add(new BookingEntity(
+                    request.pitchId(), request.playerId(), request.startTime(), request.durationMinutes()
+            ));
+        }
+
+        if (acceptedEntities.isEmpty())
+        {
+            return Map.of();
+        }
+
+        List<BookingEntity> savedEntities = transactionOperations.execute(status ->
+        {
+            List<BookingEntity> persisted = bookingRepository.saveAll(acceptedEntities);
+            persisted.forEach(bookingEntity -> eventPublisher.publishEvent(BookingCreated.of(bookingEntity.mapToDto())));
+            return persisted;
+        });
+        Map<Integer, BookingEntity> saved = new HashMap<>();
+        for (int i = 0; i < savedEntities.size(); i++)
+        {
+            bookingSchedule.record(savedEntities.get(i));
+            saved.put(acceptedIndexes.get(i), savedEntities.get(i));
+        }
+        return saved;
+    }
+
+    private String constraintViolations(BookingRequest request)
+    {
+        if (request == null)
+        {
+            return "Booking cannot be null";
+        }
+
+        Set<ConstraintViolation<BookingRequest>> violations = validator.validate(request);
+        if (violations.isEmpty())
+        {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private record PlayerDay(Long playerId, LocalDate date) {}
+}
@@ -1,15 +1,28 @@
 package com.miki.footballpitch.booking;
 
+import com.miki.footballpitch.booking.model.AvailableWindow;
 import com.miki.footballpitch.booking.model.Booking;
+import com.miki.footballpitch.booking.model.BookingBatchRequest;
+import com.miki.footballpitch.booking.model.BookingBatchResponse;
+import com.miki.footballpitch.booking.model.BookingExportFormat;
 import com.miki.footballpitch.booking.model.BookingFacade;
+import com.miki.footballpitch.booking.model.BookingPage;
 import com.miki.footballpitch.booking.model.BookingRequest;
+import com.miki.footballpitch.booking.model.IndexConsistencyReport;
+import com.miki.footballpitch.booking.model.SlotHold;
+import com.miki.footballpitch.common.IdempotencyCache;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -20,19 +33,52 @@ import java.util.List;
 class BookingController
 {
     private final BookingFacade bookingFacade;
+    private final IdempotencyCache idempotencyCache;
 
-    BookingController(BookingFacade bookingFacade)
+    BookingController(BookingFacade bookingFacade, IdempotencyCache idempotencyCache)
     {
         this.bookingFacade = bookingFacade;
+        this.idempotencyCache = idempotencyCache;
     }
 
     @PostMapping
-    public ResponseEntity<Booking> book(@RequestBody @Valid BookingRequest request)
+    public ResponseEntity<Booking> book(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody @Valid BookingRequest request)
     {
-            Booking booking = bookingFacade.bookPitch(request);
+            Booking booking = idempotencyCache.execute("POST /bookings", idempotencyKey, request,
+                    () -> bookingFacade.bookPitch(request));
             return new ResponseEntity<>(booking, HttpStatus.CREATED);
     }
 
+    @PostMapping("/holds")
+    public ResponseEntity<SlotHold> holdSlot(@RequestBody @Valid BookingRequest request)
+    {
+        SlotHold slotHold = bookingFacade.holdSlot(request);
+        return new ResponseEntity<>(slotHold, HttpStatus.CREATED);
+    }
+
+    @PostMapping("/holds/{token}/confirm")
+    public ResponseEntity<Booking> confirmHold(@PathVariable String token)
+    {
+        Booking booking = bookingFacade.confirmHold(token);
+        return new ResponseEntity<>(booking, HttpStatus.CREATED);
+    }
+
+    @DeleteMapping("/holds/{token}")
+    public ResponseEntity<Void> releaseHold(@PathVariable String token)
+    {
+        bookingFacade.releaseHold(token);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<BookingBatchResponse> bookBatch(@RequestBody @Valid BookingBatchRequest request)
+    {
+        BookingBatchResponse response = bookingFacade.bookPitches(request.bookings());
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     @GetMapping
     public ResponseEntity<List<Booking>> getBookingsForPlayerOnDate(
             @RequestParam
@@ -48,4 +94,135 @@ class BookingController
         List<Booking> booking = bookingFacade.getBookingsForPlayerOnDate(playerId, date);
         return new ResponseEntity<>(booking, HttpStatus.OK);
     }
+
+    @GetMapping("/players/{playerId}")
+    public ResponseEntity<BookingPage> getPlayerBookings(
+            @PathVariable
+            @Positive(message = "Player ID must be positive")
+            Long playerId,
+
+            @RequestParam
+            @NotNull(message = "From cannot be null")
+            LocalDateTime from,
+
+            @RequestParam
+            @NotNull(message = "To cannot be null")
+            LocalDateTime to,
+
+            @RequestParam(required = false)
+            String cursor,
+
+            @RequestParam(defaultValue = "50")
+            @Min(value = 1, message = "Page size must be at least 1")
+            @Max(value = 500, message = "Page size cannot exceed 500")
+            int size
+    )
+    {
+        BookingPage page = bookingFacade.getPlayerBookings(playerId, from, to, cursor, size);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @GetMapping("/pitches/{pitchId}")
+    public ResponseEntity<BookingPage> getPitchBookings(
+            @PathVariable
+            @Positive(message = "Pitch ID must be positive")
+            Long pitchId,
+
+            @RequestParam
+            @NotNull(message = "From cannot be null")
+            LocalDateTime from,
+
+            @RequestParam
+            @NotNull(message = "To cannot be null")
+            LocalDateTime to,
+
+            @RequestParam(required = false)
+            String cursor,
+
+            @RequestParam(defaultValue = "50")
+            @Min(value = 1, message = "Page size must be at least 1")
+            @Max(value = 500, message = "Page size cannot exceed 500")
+            int size
+    )
+    {
+        BookingPage page = bookingFacade.getPitchBookings(pitchId, from, to, cursor, size);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @GetMapping("/remaining-minutes")
+    public ResponseEntity<Integer> getRemainingMinutes(
+            @RequestParam
+            @NotNull(message = "Player ID cannot be null")
+            @Positive(message = "Player ID must be positive")
+            Long playerId,
+
+            @RequestParam
+            @NotNull(message = "Date cannot be null")
+            LocalDateTime date
+    )
+    {
+        return ResponseEntity.ok(bookingFacade.getRemainingMinutes(playerId, date));
+    }
+
+    @GetMapping("/availability")
+    public ResponseEntity<List<AvailableWindow>> findAvailability(
+            @RequestParam(required = false)
+            @Positive(message = "Pitch ID must be positive")
+            Long pitchId,
+
+            @RequestParam
+            @NotNull(message = "From cannot be null")
+            LocalDateTime from,
+
+            @RequestParam
+            @NotNull(message = "To cannot be null")
+            LocalDateTime to,
+
+            @RequestParam(defaultValue = "15")
+            @Min(value = 15, message = "Minimum duration is 15 minutes")
+            int minDuration
+    )
+    {
+        List<AvailableWindow> windows = bookingFacade.findAvailability(pitchId, from, to, minDuration);
+        return new ResponseEntity<>(windows, HttpStatus.OK);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam
+            @NotNull(message = "From cannot be null")
+            LocalDateTime from,
+
+            @RequestParam
+            @NotNull(message = "To cannot be null")
+            LocalDateTime to,
+
+            @RequestParam(defaultValue = "ndjson")
+            String format
+    )
+    {
+        if (!from.isBefore(to))
+        {
+            throw new IllegalArgumentException("Export range start must be before its end");
+        }
+        BookingExportFormat exportFormat = BookingExportFormat.from(format);
+
+        StreamingResponseBody body = outputStream -> bookingFacade.exportBookings(from, to, exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=bookings." + exportFormat.fileExtension())
+                .body(body);
+    }
+
+    @GetMapping("/index/consistency")
+    public ResponseEntity<IndexConsistencyReport> checkIndexConsistency()
+    {
+        return new ResponseEntity<>(bookingFacade.checkIndexConsistency(), HttpStatus.OK);
+    }
+
+    @PostMapping("/projections/player-days/rebuild")
+    public ResponseEntity<Integer> rebuildPlayerBookingProjection()
+    {
+        return new ResponseEntity<>(bookingFacade.rebuildPlayerBookingProjection(), HttpStatus.OK);
+    }
 }
@@ -0,0 +1,72 @@
+package com.miki.footballpitch.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.miki.footballpitch.booking.model.Booking;
+import com.miki.footballpitch.booking.model.BookingExportFormat;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes bookings straight from a JDBC cursor to the response, detaching every row once written
+ * so the persistence context stays empty however large the export is.
+ */
+@Component
+@RequiredArgsConstructor
+class BookingExporter
+{
+    private static final String CSV_HEADER = "id,pitchId,playerId,startTime,durationMinutes";
+
+    private final BookingRepository bookingRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void export(LocalDateTime from, LocalDateTime to, BookingExportFormat format, OutputStream outputStream)
+            throws IOException
+    {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == BookingExportFormat.CSV)
+        {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        try (Stream<BookingEntity> bookingEntities = bookingRepository.streamByStartTimeRange(from, to))
+        {
+            Iterator<BookingEntity> iterator = bookingEntities.iterator();
+            while (iterator.hasNext())
+            {
+                BookingEntity bookingEntity = iterator.next();
+                writeRow(writer, bookingEntity.mapToDto(), format);
+                entityManager.detach(bookingEntity);
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeRow(Writer writer, Booking booking, BookingExportFormat format) throws IOException
+    {
+        if (format == BookingExportFormat.CSV)
+        {
+            writer.write(booking.id() + "," + booking.pitchId() + "," + booking.playerId() + ","
+                    + booking.startTime() + "," + booking.durationMinutes());
+        }
+        else
+        {
+            writer.write(objectMapper.writeValueAsString(booking));
+        }
+        writer.write('\n');
+    }
+}
@@ -0,0 +1,154 @@
+package com.miki.footballpitch.booking;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped locks serializing bookings that contend for the same pitch or the same player's daily minutes.
+ * Pitch stripes are always taken before player stripes, and several stripes of one kind in ascending
+ * order, so concurrent single and batch bookings can never deadlock each other.
+ */
+@Component
+class BookingLocks
+{
+    private final Stripes pitchStripes;
+    private final Stripes playerStripes;
+
+    BookingLocks(MeterRegistry meterRegistry, @Value("${booking.lock.stripes:64}") int stripeCount)
+    {
+        this.pitchStripes = new Stripes("pitch", stripeCount, meterRegistry);
+        this.playerStripes = new Stripes("player", stripeCount, meterRegistry);
+    }
+
+    <T> T withPitchAndPlayer(Long pitchId, Long playerId, Supplier<T> action)
+    {
+        ReentrantLock pitchLock = pitchStripes.acquire(pitchId);
+        try
+        {
+            ReentrantLock playerLock = playerStripes.acquire(playerId);
+            try
+            {
+                return action.get();
+            }
+            finally
+            {
+                playerLock.unlock();
+            }
+        }
+        finally
+        {
+            pitchLock.unlock();
+        }
+    }
+
+    <T> T withPitchesAndPlayers(Collection<Long> pitchIds, Collection<Long> playerIds, Supplier<T> action)
+    {
+        List<ReentrantLock> pitchLocks = pitchStripes.acquireAll(pitchIds);
+        try
+        {
+            List<ReentrantLock> playerLocks = playerStripes.acquireAll(playerIds);
+            try
+            {
+                return action.get();
+            }
+            finally
+            {
+                releaseAll(playerLocks);
+            }
+        }
+        finally
+        {
+            releaseAll(pitchLocks);
+        }
+    }
+
+    private static void releaseAll(List<ReentrantLock> locks)
+    {
+        for (int i = locks.size() - 1; i >= 0; i--)
+        {
+            locks.get(i).unlock();
+        }
+    }
+
+    private static final class Stripes
+    {
+        private final ReentrantLock[] locks;
+        private final int mask;
+        private final Timer waitTimer;
+        private final Counter contentionCounter;
+
+        Stripes(String stripe, int stripeCount, MeterRegistry meterRegistry)
+        {
+            int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+            this.locks = new ReentrantLock[size];
+            for (int i = 0; i < size; i++)
+            {
+                locks[i] = new ReentrantLock();
+            }
+            this.mask = size - 1;
+            this.waitTimer = Timer.builder("booking.lock.wait")
+                    .description("Time spent waiting for a booking lock stripe")
+                    .tag("stripe", stripe)
+                    .register(meterRegistry);
+            this.contentionCounter = Counter.builder("booking.lock.contention")
+                    .description("Lock acquisitions that had to wait for another booking")
+                    .tag("stripe", stripe)
+                    .register(meterRegistry);
+        }
+
+        ReentrantLock acquire(Long key)
+        {
+            return acquire(locks[indexOf(key)]);
+        }
+
+        private ReentrantLock acquire(ReentrantLock lock)
+        {
+            if (lock.tryLock())
+            {
+                waitTimer.record(0, TimeUnit.NANOSECONDS);
+                return lock;
+            }
+
+            contentionCounter.increment();
+            long waitStart = System.nanoTime();
+            lock.lock();
+            waitTimer.record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+            return lock;
+        }
+
+        List<ReentrantLock> acquireAll(Collection<Long> keys)
+        {
+            int[] indexes = keys.stream().mapToInt(this::indexOf).distinct().sorted().toArray();
+            List<ReentrantLock> acquired = new ArrayList<>(indexes.length);
+            try
+            {
+                for (int index : indexes)
+                {
+                    acquired.add(acquire(locks[index]));
+                }
+            }
+            catch (RuntimeException e)
+            {
+                releaseAll(acquired);
+                throw e;
+            }
+            return acquired;
+        }
+
+        private int indexOf(Long key)
+        {
+            int hash = Long.hashCode(key);
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+    }
+}
@@ -1,16 +1,44 @@
 package com.miki.footballpitch.booking;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 interface BookingRepository extends JpaRepository<BookingEntity, Long>
 {
-    List<BookingEntity> findByPlayerIdAndStartTimeBetween(Long playerId, LocalDateTime start, LocalDateTime end);
+    @Query("""
+            select b from BookingEntity b
+            where b.playerId = :playerId and b.startTime < :to
+              and (b.startTime > :afterStartTime or (b.startTime = :afterStartTime and b.id > :afterId))
+            order by b.startTime, b.id
+            """)
+    List<BookingEntity> findPlayerPage(@Param("playerId") Long playerId,
+                                       @Param("afterStartTime") LocalDateTime afterStartTime,
+                                       @Param("afterId") long afterId,
+                                       @Param("to") LocalDateTime to,
+                                       Limit limit);
 
-    List<BookingEntity> findByPitchIdAndStartTimeLessThanAndEndTimeGreaterThan(
-            Long pitchId,
-            LocalDateTime newBookingEndTime,
-            LocalDateTime newBookingStartTime);
+    @Query("""
+            select b from BookingEntity b
+            where b.pitchId = :pitchId and b.startTime < :to
+              and (b.startTime > :afterStartTime or (b.startTime = :afterStartTime and b.id > :afterId))
+            order by b.startTime, b.id
+            """)
+    List<BookingEntity> findPitchPage(@Param("pitchId") Long pitchId,
+                                      @Param("afterStartTime") LocalDateTime afterStartTime,
+                                      @Param("afterId") long afterId,
+                                      @Param("to") LocalDateTime to,
+                                      Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select b from BookingEntity b where b.startTime >= :from and b.startTime < :to order by b.startTime, b.id")
+    Stream<BookingEntity> streamByStartTimeRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
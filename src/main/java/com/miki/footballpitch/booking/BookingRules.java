@@ -0,0 +1,55 @@
+package com.miki.footballpitch.booking;
+
+import com.miki.footballpitch.booking.model.BookingRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Single-booking checks against the in-memory {@link BookingSchedule} and the active slot holds. No check does
+ * I/O, so there is no wait for separate threads to overlap and they run one after the other on the caller's
+ * thread.
+ */
+@Component
+class BookingRules
+{
+    private final BookingSchedule bookingSchedule;
+    private final SlotHoldRegistry slotHoldRegistry;
+    private final int maxAllowedBookingMinute;
+
+    BookingRules(BookingSchedule bookingSchedule,
+                 SlotHoldRegistry slotHoldRegistry,
+                 @Value("${max_booking_minute}") int maxAllowedBookingMinute)
+    {
+        this.bookingSchedule = bookingSchedule;
+        this.slotHoldRegistry = slotHoldRegistry;
+        this.maxAllowedBookingMinute = maxAllowedBookingMinute;
+    }
+
+    void validateMaxAllowedMinute(BookingRequest request)
+    {
+        int totalMinutes = bookingSchedule.bookedMinutes(request.playerId(), request.startTime().toLocalDate());
+
+        if (totalMinutes + request.durationMinutes() > maxAllowedBookingMinute)
+        {
+            throw new IllegalArgumentException("Player exceeds daily limit of 2 hours");
+        }
+    }
+
+    void validateBookingConflict(BookingRequest request, LocalDateTime start, LocalDateTime end)
+    {
+        if (bookingSchedule.hasConflict(request.pitchId(), start, end))
+        {
+            throw new IllegalArgumentException("Pitch is already booked for this time");
+        }
+    }
+
+    void validateNotHeldByAnotherPlayer(BookingRequest request, LocalDateTime start, LocalDateTime end)
+    {
+        if (slotHoldRegistry.isHeldByAnotherPlayer(request.pitchId(), request.playerId(), start, end))
+        {
+            throw new IllegalArgumentException("Slot is currently held by another player");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.miki.footballpitch.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The in-memory view of all stored bookings that booking validation runs against.
+ * Callers hold the matching {@link BookingLocks} stripes while checking and recording.
+ */
+@Component
+@RequiredArgsConstructor
+class BookingSchedule
+{
+    private final PitchIntervalIndex pitchIntervalIndex;
+    private final DailyMinuteCounters dailyMinuteCounters;
+    private final SlotOccupancyCalendar slotOccupancyCalendar;
+
+    void load(Collection<BookingEntity> bookingEntities)
+    {
+        pitchIntervalIndex.load(bookingEntities);
+        dailyMinuteCounters.load(bookingEntities);
+        slotOccupancyCalendar.load(bookingEntities);
+    }
+
+    void record(BookingEntity bookingEntity)
+    {
+        pitchIntervalIndex.add(bookingEntity);
+        dailyMinuteCounters.add(bookingEntity);
+        slotOccupancyCalendar.occupy(bookingEntity);
+    }
+
+    boolean hasConflict(Long pitchId, LocalDateTime start, LocalDateTime end)
+    {
+        return !slotOccupancyCalendar.isFree(pitchId, start, end)
+                && pitchIntervalIndex.hasConflict(pitchId, start, end);
+    }
+
+    int bookedMinutes(Long playerId, LocalDate date)
+    {
+        return dailyMinuteCounters.bookedMinutes(playerId, date);
+    }
+
+    int indexedBookings()
+    {
+        return pitchIntervalIndex.size();
+    }
+
+    List<Long> findInconsistentPitches(Collection<BookingEntity> storedBookings)
+    {
+        return pitchIntervalIndex.findInconsistentPitches(storedBookings);
+    }
+}
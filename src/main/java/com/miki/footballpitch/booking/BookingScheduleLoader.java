@@ -0,0 +1,27 @@
+package com.miki.footballpitch.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class BookingScheduleLoader implements SmartInitializingSingleton
+{
+    private final BookingRepository bookingRepository;
+    private final BookingSchedule bookingSchedule;
+    private final PlayerBookingProjection playerBookingProjection;
+
+    @Override
+    public void afterSingletonsInstantiated()
+    {
+        List<BookingEntity> bookingEntities = bookingRepository.findAll();
+        bookingSchedule.load(bookingEntities);
+        playerBookingProjection.load(bookingEntities);
+        log.info("Loaded {} bookings into the booking schedule", bookingEntities.size());
+    }
+}
@@ -1,11 +1,21 @@
 package com.miki.footballpitch.booking;
 
+import com.miki.footballpitch.booking.model.AvailableWindow;
 import com.miki.footballpitch.booking.model.Booking;
+import com.miki.footballpitch.booking.model.BookingBatchResponse;
+import com.miki.footballpitch.booking.model.BookingExportFormat;
 import com.miki.footballpitch.booking.model.BookingFacade;
+import com.miki.footballpitch.booking.model.BookingPage;
 import com.miki.footballpitch.booking.model.BookingRequest;
+import com.miki.footballpitch.booking.model.IndexConsistencyReport;
+import com.miki.footballpitch.booking.model.SlotHold;
+import com.miki.footballpitch.common.KeysetCursor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -15,69 +25,148 @@ class BookingService implements BookingFacade
     final int maxAllowedBookingMinute;
 
     private final BookingRepository bookingRepository;
-
-    BookingService(BookingRepository bookingRepository, @Value("${max_booking_minute}") int maxAllowedBookingMinute)
+    private final BookingSchedule bookingSchedule;
+    private final BookingWriter bookingWriter;
+    private final BookingRules bookingRules;
+    private final AvailabilitySearch availabilitySearch;
+    private final BatchBookingProcessor batchBookingProcessor;
+    private final BookingExporter bookingExporter;
+    private final SlotHoldRegistry slotHoldRegistry;
+    private final PlayerBookingProjection playerBookingProjection;
+
+    BookingService(BookingRepository bookingRepository,
+                   BookingSchedule bookingSchedule,
+                   BookingWriter bookingWriter,
+                   BookingRules bookingRules,
+                   AvailabilitySearch availabilitySearch,
+                   BatchBookingProcessor batchBookingProcessor,
+                   BookingExporter bookingExporter,
+                   SlotHoldRegistry slotHoldRegistry,
+                   PlayerBookingProjection playerBookingProjection,
+                   @Value("${max_booking_minute}") int maxAllowedBookingMinute)
     {
         this.bookingRepository = bookingRepository;
+        this.bookingSchedule = bookingSchedule;
+        this.bookingWriter = bookingWriter;
+        this.bookingRules = bookingRules;
+        this.availabilitySearch = availabilitySearch;
+        this.batchBookingProcessor = batchBookingProcessor;
+        this.bookingExporter = bookingExporter;
+        this.slotHoldRegistry = slotHoldRegistry;
+        this.playerBookingProjection = playerBookingProjection;
         this.maxAllowedBookingMinute = maxAllowedBookingMinute;
     }
 
     @Override
     public Booking bookPitch(BookingRequest request)
+    {
+        return bookingWriter.write(request);
+    }
+
+    @Override
+    public SlotHold holdSlot(BookingRequest request)
     {
         LocalDateTime start = request.startTime();
         LocalDateTime end = start.plusMinutes(request.durationMinutes());
 
-        List<BookingEntity> dailyBookingEntities = bookingRepository.findByPlayerIdAndStartTimeBetween(
-                request.playerId(),
-                start.toLocalDate().atStartOfDay(),
-                start.toLocalDate().atTime(23, 59)
-        );
+        bookingRules.validateMaxAllowedMinute(request);
+        bookingRules.validateBookingConflict(request, start, end);
 
-        validateMaxAllowedMinute(request, dailyBookingEntities);
+        return slotHoldRegistry.hold(request);
+    }
 
-        validateBookingConflict(request, start, end);
+    @Override
+    public Booking confirmHold(String token)
+    {
+        SlotHold slotHold = slotHoldRegistry.activeHold(token);
+        Booking booking = bookPitch(slotHold.toBookingRequest());
+        slotHoldRegistry.release(token);
+        return booking;
+    }
 
-        BookingEntity bookingEntity = bookingRepository.save(new BookingEntity(
-                request.pitchId(), request.playerId(), request.startTime(), request.durationMinutes()
-        ));
+    @Override
+    public void releaseHold(String token)
+    {
+        slotHoldRegistry.release(token);
+    }
 
-        return bookingEntity.mapToDto();
+    @Override
+    public BookingBatchResponse bookPitches(List<BookingRequest> requests)
+    {
+        return batchBookingProcessor.process(requests);
     }
 
     @Override
     public List<Booking> getBookingsForPlayerOnDate(Long playerId, LocalDateTime date)
     {
-        List<BookingEntity> byPlayerIdAndStartTimeBetween = bookingRepository.findByPlayerIdAndStartTimeBetween(
-                playerId,
-                date.toLocalDate().atStartOfDay(),
-                date.toLocalDate().atTime(23, 59)
-        );
-        return byPlayerIdAndStartTimeBetween.stream().map(BookingEntity::mapToDto).toList();
+        return playerBookingProjection.bookingsOn(playerId, date.toLocalDate());
     }
 
-    private void validateBookingConflict(BookingRequest request, LocalDateTime start, LocalDateTime end)
+    @Override
+    public BookingPage getPlayerBookings(Long playerId, LocalDateTime from, LocalDateTime to, String cursor, int size)
     {
-        List<BookingEntity> conflicts = bookingRepository.findByPitchIdAndStartTimeLessThanAndEndTimeGreaterThan(
-                request.pitchId(), start, end
-        );
+        KeysetCursor after = KeysetCursor.decode(cursor, from);
+        List<BookingEntity> bookingEntities = bookingRepository.findPlayerPage(
+                playerId, after.time(), after.id(), to, Limit.of(size + 1));
+        return toPage(bookingEntities, size);
+    }
 
-        if (!conflicts.isEmpty())
-        {
-            throw new IllegalArgumentException("Pitch is already booked for this time");
-        }
+    @Override
+    public BookingPage getPitchBookings(Long pitchId, LocalDateTime from, LocalDateTime to, String cursor, int size)
+    {
+        KeysetCursor after = KeysetCursor.decode(cursor, from);
+        List<BookingEntity> bookingEntities = bookingRepository.findPitchPage(
+                pitchId, after.time(), after.id(), to, Limit.of(size + 1));
+        return toPage(bookingEntities, size);
     }
 
-    private void validateMaxAllowedMinute(BookingRequest request, List<BookingEntity> dailyBookingEntities)
+    @Override
+    public int getRemainingMinutes(Long playerId, LocalDateTime date)
+    {
+        int bookedMinutes = bookingSchedule.bookedMinutes(playerId, date.toLocalDate());
+        return Math.max(0, maxAllowedBookingMinute - bookedMinutes);
+    }
+
+    @Override
+    public List<AvailableWindow> findAvailability(Long pitchId, LocalDateTime from, LocalDateTime to, int minDurationMinutes)
+    {
+        return availabilitySearch.findAvailableWindows(pitchId, from, to, minDurationMinutes);
+    }
+
+    @Override
+    public void exportBookings(LocalDateTime from, LocalDateTime to, BookingExportFormat format, OutputStream outputStream)
+            throws IOException
+    {
+        bookingExporter.export(from, to, format, outputStream);
+    }
+
+    @Override
+    public IndexConsistencyReport checkIndexConsistency()
     {
-        int totalMinutes = dailyBookingEntities.stream()
-                .mapToInt(BookingEntity::getDurationMinutes)
-                .sum();
+        List<BookingEntity> storedBookings = bookingRepository.findAll();
+        return IndexConsistencyReport.of(
+                storedBookings.size(),
+                bookingSchedule.indexedBookings(),
+                bookingSchedule.findInconsistentPitches(storedBookings)
+        );
+    }
 
-        if (totalMinutes + request.durationMinutes() > maxAllowedBookingMinute)
+    @Override
+    public int rebuildPlayerBookingProjection()
+    {
+        return playerBookingProjection.rebuild();
+    }
+
+    private BookingPage toPage(List<BookingEntity> bookingEntities, int size)
+    {
+        if (bookingEntities.size() <= size)
         {
-            throw new IllegalArgumentException("Player exceeds daily limit of 2 hours");
+            return new BookingPage(bookingEntities.stream().map(BookingEntity::mapToDto).toList(), null);
         }
-    }
 
+        List<BookingEntity> page = bookingEntities.subList(0, size);
+        BookingEntity last = page.get(size - 1);
+        String nextCursor = new KeysetCursor(last.getStartTime(), last.getId()).encode();
+        return new BookingPage(page.stream().map(BookingEntity::mapToDto).toList(), nextCursor);
+    }
 }
@@ -0,0 +1,13 @@
+package com.miki.footballpitch.booking;
+
+import com.miki.footballpitch.booking.model.Booking;
+import com.miki.footballpitch.booking.model.BookingRequest;
+
+/**
+ * Applies a single booking request to the schedule and the database. The implementation is chosen
+ * with booking.write-mode so the two strategies can be benchmarked against each other.
+ */
+interface BookingWriter
+{
+    Booking write(BookingRequest request);
+}
@@ -0,0 +1,45 @@
+package com.miki.footballpitch.booking;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minutes booked per player and day, rebuilt from the booking table at startup
+ * and incremented under the player lock stripe whenever a booking is saved.
+ */
+@Component
+class DailyMinuteCounters
+{
+    private final Map<PlayerDay, AtomicInteger> counters = new ConcurrentHashMap<>();
+
+    void load(Collection<BookingEntity> bookingEntities)
+    {
+        counters.clear();
+        bookingEntities.forEach(this::add);
+    }
+
+    void add(BookingEntity bookingEntity)
+    {
+        counters.computeIfAbsent(PlayerDay.of(bookingEntity), key -> new AtomicInteger())
+                .addAndGet(bookingEntity.getDurationMinutes());
+    }
+
+    int bookedMinutes(Long playerId, LocalDate date)
+    {
+        AtomicInteger counter = counters.get(new PlayerDay(playerId, date));
+        return counter == null ? 0 : counter.get();
+    }
+
+    private record PlayerDay(Long playerId, LocalDate date)
+    {
+        static PlayerDay of(BookingEntity bookingEntity)
+        {
+            return new PlayerDay(bookingEntity.getPlayerId(), bookingEntity.getStartTime().toLocalDate());
+        }
+    }
+}
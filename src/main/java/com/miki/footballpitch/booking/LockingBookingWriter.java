@@ -0,0 +1,55 @@
+package com.miki.footballpitch.booking;
+
+import com.miki.footballpitch.booking.model.Booking;
+import com.miki.footballpitch.booking.model.BookingCreated;
+import com.miki.footballpitch.booking.model.BookingRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDateTime;
+
+@Component
+@ConditionalOnProperty(name = "booking.write-mode", havingValue = "locking", matchIfMissing = true)
+@RequiredArgsConstructor
+class LockingBookingWriter implements BookingWriter
+{
+    private final BookingRepository bookingRepository;
+    private final BookingSchedule bookingSchedule;
+    private final BookingLocks bookingLocks;
+    private final BookingRules bookingRules;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionOperations transactionOperations;
+
+    @Override
+    public Booking write(BookingRequest request)
+    {
+        return bookingLocks.withPitchAndPlayer(request.pitchId(), request.playerId(), () -> book(request));
+    }
+
+    private Booking book(BookingRequest request)
+    {
+        LocalDateTime start = request.startTime();
+        LocalDateTime end = start.plusMinutes(request.durationMinutes());
+
+        bookingRules.validateMaxAllowedMinute(request);
+
+        bookingRules.validateBookingConflict(request, start, end);
+
+        bookingRules.validateNotHeldByAnotherPlayer(request, start, end);
+
+        BookingEntity bookingEntity = transactionOperations.execute(status ->
+        {
+            BookingEntity saved = bookingRepository.save(new BookingEntity(
+                    request.pitchId(), request.playerId(), request.startTime(), request.durationMinutes()
+            ));
+            eventPublisher.publishEvent(BookingCreated.of(saved.mapToDto()));
+            return saved;
+        });
+        bookingSchedule.record(bookingEntity);
+
+        return bookingEntity.mapToDto();
+    }
+}
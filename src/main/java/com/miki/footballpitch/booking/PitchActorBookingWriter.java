@@ -0,0 +1,159 @@
+package com.miki.footballpitch.booking;
+
+import com.miki.footballpitch.booking.model.Booking;
+import com.miki.footballpitch.booking.model.BookingBatchItemResult;
+import com.miki.footballpitch.booking.model.BookingBatchResponse;
+import com.miki.footballpitch.booking.model.BookingRequest;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Routes every booking for a pitch through that pitch's mailbox, drained by at most one virtual thread at a
+ * time. Requests that queue up while a drain is running are committed together as one small batch, so a busy
+ * pitch pays one saveAll per group instead of one insert per request. The group still takes its lock stripes
+ * through {@link BatchBookingProcessor}; they are uncontended unless a batch or the same player on another
+ * pitch is writing at the same moment.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.write-mode", havingValue = "pitch-actor")
+class PitchActorBookingWriter implements BookingWriter, DisposableBean
+{
+    private final BatchBookingProcessor batchBookingProcessor;
+    private final int maxGroupSize;
+    private final Map<Long, PitchActor> actors = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    PitchActorBookingWriter(BatchBookingProcessor batchBookingProcessor,
+                            @Value("${booking.actor.max-group-size:32}") int maxGroupSize)
+    {
+        this.batchBookingProcessor = batchBookingProcessor;
+        this.maxGroupSize = Math.max(1, maxGroupSize);
+    }
+
+    @Override
+    public Booking write(BookingRequest request)
+    {
+        BookingCommand command = new BookingCommand(request, new CompletableFuture<>());
+        actors.computeIfAbsent(request.pitchId(), pitchId -> new PitchActor()).submit(command);
+
+        try
+        {
+            return command.result().join();
+        }
+        catch (CompletionException e)
+        {
+            if (e.getCause() instanceof RuntimeException cause)
+            {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error)
+            {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void destroy()
+    {
+        executor.shutdown();
+    }
+
+    private final class PitchActor
+    {
+        private final Queue<BookingCommand> mailbox = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        void submit(BookingCommand command)
+        {
+            mailbox.add(command);
+            if (draining.compareAndSet(false, true))
+            {
+                executor.execute(this::drain);
+            }
+        }
+
+        /**
+         * Commits groups until a poll comes back empty, then releases the drain flag and takes it back only if
+         * a command slipped in after the last poll; otherwise that command's submit has started a new drain.
+         */
+        private void drain()
+        {
+            try
+            {
+                List<BookingCommand> group;
+                while (!(group = pollGroup()).isEmpty())
+                {
+                    commit(group);
+                }
+            }
+            finally
+            {
+                draining.set(false);
+                if (!mailbox.isEmpty() && draining.compareAndSet(false, true))
+                {
+                    executor.execute(this::drain);
+                }
+            }
+        }
+
+        private List<BookingCommand> pollGroup()
+        {
+            List<BookingCommand> group = new ArrayList<>();
+            BookingCommand command;
+            while (group.size() < maxGroupSize && (command = mailbox.poll()) != null)
+            {
+                group.add(command);
+            }
+            return group;
+        }
+
+        private void commit(List<BookingCommand> group)
+        {
+            try
+            {
+                BookingBatchResponse response = batchBookingProcessor.process(
+                        group.stream().map(BookingCommand::request).toList());
+
+                for (BookingBatchItemResult result : response.results())
+                {
+                    CompletableFuture<Booking> future = group.get(result.index()).result();
+                    if (result.booking() != null)
+                    {
+                        future.complete(result.booking());
+                    }
+                    else
+                    {
+                        future.completeExceptionally(new IllegalArgumentException(singleBookingError(result.error())));
+                    }
+                }
+            }
+            catch (Throwable e)
+            {
+                group.forEach(command -> command.result().completeExceptionally(e));
+            }
+        }
+    }
+
+    private static String singleBookingError(String error)
+    {
+        return BatchBookingProcessor.IN_BATCH_OVERLAP.equals(error) ? "Pitch is already booked for this time" : error;
+    }
+
+    private record BookingCommand(BookingRequest request, CompletableFuture<Booking> result) {}
+}
@@ -0,0 +1,69 @@
+package com.miki.footballpitch.booking;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory schedule of every pitch, keyed by booking start time.
+ * Bookings on one pitch never overlap, so the closest booking starting before
+ * a requested end time is the only one that can conflict with it.
+ */
+@Component
+class PitchIntervalIndex
+{
+    private final Map<Long, ConcurrentSkipListMap<LocalDateTime, LocalDateTime>> schedules = new ConcurrentHashMap<>();
+
+    void load(Collection<BookingEntity> bookingEntities)
+    {
+        schedules.clear();
+        bookingEntities.forEach(this::add);
+    }
+
+    void add(BookingEntity bookingEntity)
+    {
+        add(bookingEntity.getPitchId(), bookingEntity.getStartTime(), bookingEntity.getEndTime());
+    }
+
+    void add(Long pitchId, LocalDateTime start, LocalDateTime end)
+    {
+        schedules.computeIfAbsent(pitchId, id -> new ConcurrentSkipListMap<>())
+                .merge(start, end, (existing, added) -> existing.isAfter(added) ? existing : added);
+    }
+
+    boolean hasConflict(Long pitchId, LocalDateTime start, LocalDateTime end)
+    {
+        NavigableMap<LocalDateTime, LocalDateTime> schedule = schedules.get(pitchId);
+        if (schedule == null)
+        {
+            return false;
+        }
+
+        Map.Entry<LocalDateTime, LocalDateTime> previous = schedule.lowerEntry(end);
+        return previous != null && previous.getValue().isAfter(start);
+    }
+
+    int size()
+    {
+        return schedules.values().stream().mapToInt(Map::size).sum();
+    }
+
+    List<Long> findInconsistentPitches(Collection<BookingEntity> storedBookings)
+    {
+        Map<Long, SortedMap<LocalDateTime, LocalDateTime>> stored = new HashMap<>();
+        storedBookings.forEach(entity -> stored.computeIfAbsent(entity.getPitchId(), id -> new TreeMap<>())
+                .merge(entity.getStartTime(), entity.getEndTime(), (existing, added) -> existing.isAfter(added) ? existing : added));
+
+        Set<Long> pitchIds = new TreeSet<>(stored.keySet());
+        pitchIds.addAll(schedules.keySet());
+
+        return pitchIds.stream()
+                .filter(pitchId -> !Objects.equals(
+                        stored.getOrDefault(pitchId, Collections.emptySortedMap()),
+                        schedules.getOrDefault(pitchId, new ConcurrentSkipListMap<>())))
+                .toList();
+    }
+}
@@ -0,0 +1,133 @@
+package com.miki.footballpitch.booking;
+
+import com.miki.footballpitch.booking.model.Booking;
+import com.miki.footballpitch.booking.model.BookingCreated;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Read model answering "which bookings does this player have on this day" without touching the booking table.
+ * Each player-day holds an immutable list that is replaced on every {@link BookingCreated} event, so readers
+ * never block on or see a half-applied write. Events are applied synchronously once the booking commits, so a
+ * player reads their own booking straight after creating it. They may also be redelivered from the event
+ * publication registry, so applying one twice is a no-op.
+ */
+@Component
+@RequiredArgsConstructor
+class PlayerBookingProjection
+{
+    private final BookingRepository bookingRepository;
+
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile Map<PlayerDay, List<Booking>> bookingsByPlayerDay = new ConcurrentHashMap<>();
+    private Map<PlayerDay, List<Booking>> rebuilding;
+
+    /**
+     * Events share the read side of the swap lock, so they run concurrently with each other but never between a
+     * rebuild's swap steps.
+     */
+    @TransactionalEventListener
+    void on(BookingCreated event)
+    {
+        swapLock.readLock().lock();
+        try
+        {
+            add(bookingsByPlayerDay, event.booking());
+            if (rebuilding != null)
+            {
+                add(rebuilding, event.booking());
+            }
+        }
+        finally
+        {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    List<Booking> bookingsOn(Long playerId, LocalDate date)
+    {
+        return bookingsByPlayerDay.getOrDefault(new PlayerDay(playerId, date), List.of());
+    }
+
+    void load(Collection<BookingEntity> bookingEntities)
+    {
+        Map<PlayerDay, List<Booking>> loaded = new ConcurrentHashMap<>();
+        bookingEntities.forEach(bookingEntity -> add(loaded, bookingEntity.mapToDto()));
+        underSwapLock(() -> bookingsByPlayerDay = loaded);
+    }
+
+    /**
+     * Rebuilds the projection from the booking table. Events arriving while the table is read are applied to
+     * the new projection as well, so no booking committed during the rebuild is lost.
+     */
+    synchronized int rebuild()
+    {
+        Map<PlayerDay, List<Booking>> rebuilt = new ConcurrentHashMap<>();
+        underSwapLock(() -> rebuilding = rebuilt);
+        try
+        {
+            List<BookingEntity> bookingEntities = bookingRepository.findAll();
+            bookingEntities.forEach(bookingEntity -> add(rebuilt, bookingEntity.mapToDto()));
+            underSwapLock(() ->
+            {
+                bookingsByPlayerDay = rebuilt;
+                rebuilding = null;
+            });
+            return bookingEntities.size();
+        }
+        finally
+        {
+            underSwapLock(() -> rebuilding = null);
+        }
+    }
+
+    private void underSwapLock(Runnable swap)
+    {
+        swapLock.writeLock().lock();
+        try
+        {
+            swap.run();
+        }
+        finally
+        {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    private static void add(Map<PlayerDay, List<Booking>> target, Booking booking)
+    {
+        PlayerDay playerDay = new PlayerDay(booking.playerId(), booking.startTime().toLocalDate());
+        target.compute(playerDay, (key, bookings) -> withBooking(bookings, booking));
+    }
+
+    private static List<Booking> withBooking(List<Booking> bookings, Booking booking)
+    {
+        if (bookings == null)
+        {
+            return List.of(booking);
+        }
+        if (booking.id() != null && bookings.stream().anyMatch(existing -> booking.id().equals(existing.id())))
+        {
+            return bookings;
+        }
+
+        List<Booking> updated = new ArrayList<>(bookings.size() + 1);
+        updated.addAll(bookings);
+        updated.add(booking);
+        updated.sort(Comparator.comparing(Booking::startTime));
+        return List.copyOf(updated);
+    }
+
+    private record PlayerDay(Long playerId, LocalDate date) {}
+}
@@ -0,0 +1,151 @@
+package com.miki.footballpitch.booking;
+
+import com.miki.footballpitch.booking.model.BookingRequest;
+import com.miki.footballpitch.booking.model.SlotHold;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Short-lived reservations of a pitch time range. Holds on one pitch never overlap, so like the
+ * {@link PitchIntervalIndex} only the holds starting before a range's end and ending after its start
+ * are inspected. Expired holds are ignored straight away and removed by the sweeper.
+ */
+@Slf4j
+@Component
+class SlotHoldRegistry
+{
+    private final Map<Long, ConcurrentSkipListMap<LocalDateTime, SlotHold>> holdsByPitch = new ConcurrentHashMap<>();
+    private final Map<String, SlotHold> holdsByToken = new ConcurrentHashMap<>();
+    private final Duration holdTtl;
+    private final Clock clock;
+
+    @Autowired
+    SlotHoldRegistry(@Value("${booking.hold.ttl:PT2M}") Duration holdTtl)
+    {
+        this(holdTtl, Clock.systemUTC());
+    }
+
+    SlotHoldRegistry(Duration holdTtl, Clock clock)
+    {
+        this.holdTtl = holdTtl;
+        this.clock = clock;
+    }
+
+    SlotHold hold(BookingRequest request)
+    {
+        LocalDateTime start = request.startTime();
+        LocalDateTime end = start.plusMinutes(request.durationMinutes());
+        ConcurrentSkipListMap<LocalDateTime, SlotHold> pitchHolds =
+                holdsByPitch.computeIfAbsent(request.pitchId(), id -> new ConcurrentSkipListMap<>());
+
+        synchronized (pitchHolds)
+        {
+            Instant now = clock.instant();
+            Iterator<SlotHold> overlapping = pitchHolds.headMap(end, false).descendingMap().values().iterator();
+            while (overlapping.hasNext())
+            {
+                SlotHold existing = overlapping.next();
+                if (!existing.endTime().isAfter(start))
+                {
+                    break;
+                }
+                if (existing.expiresAt().isAfter(now))
+                {
+                    throw new IllegalArgumentException("Slot is currently held");
+                }
+                overlapping.remove();
+                holdsByToken.remove(existing.token());
+            }
+
+            SlotHold slotHold = new SlotHold(UUID.randomUUID().toString(), request.pitchId(), request.playerId(),
+                    start, request.durationMinutes(), now.plus(holdTtl));
+            pitchHolds.put(start, slotHold);
+            holdsByToken.put(slotHold.token(), slotHold);
+            return slotHold;
+        }
+    }
+
+    SlotHold activeHold(String token)
+    {
+        SlotHold slotHold = holdsByToken.get(token);
+        if (slotHold == null || !slotHold.expiresAt().isAfter(clock.instant()))
+        {
+            throw new IllegalArgumentException("Slot hold not found or expired: " + token);
+        }
+        return slotHold;
+    }
+
+    boolean isHeldByAnotherPlayer(Long pitchId, Long playerId, LocalDateTime start, LocalDateTime end)
+    {
+        NavigableMap<LocalDateTime, SlotHold> pitchHolds = holdsByPitch.get(pitchId);
+        if (pitchHolds == null)
+        {
+            return false;
+        }
+
+        Instant now = clock.instant();
+        for (SlotHold existing : pitchHolds.headMap(end, false).descendingMap().values())
+        {
+            if (!existing.endTime().isAfter(start))
+            {
+                return false;
+            }
+            if (existing.expiresAt().isAfter(now) && !existing.playerId().equals(playerId))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void release(String token)
+    {
+        SlotHold slotHold = holdsByToken.remove(token);
+        if (slotHold == null)
+        {
+            throw new IllegalArgumentException("Slot hold not found: " + token);
+        }
+        ConcurrentSkipListMap<LocalDateTime, SlotHold> pitchHolds = holdsByPitch.get(slotHold.pitchId());
+        if (pitchHolds != null)
+        {
+            pitchHolds.remove(slotHold.startTime(), slotHold);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking.hold.sweep-interval:PT15S}")
+    void sweepExpiredHolds()
+    {
+        Instant now = clock.instant();
+        int swept = 0;
+        for (SlotHold slotHold : holdsByToken.values())
+        {
+            if (!slotHold.expiresAt().isAfter(now) && holdsByToken.remove(slotHold.token(), slotHold))
+            {
+                ConcurrentSkipListMap<LocalDateTime, SlotHold> pitchHolds = holdsByPitch.get(slotHold.pitchId());
+                if (pitchHolds != null)
+                {
+                    pitchHolds.remove(slotHold.startTime(), slotHold);
+                }
+                swept++;
+            }
+        }
+        if (swept > 0)
+        {
+            log.debug("Swept {} expired slot holds", swept);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.miki.footballpitch.booking;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Occupancy of every pitch-day as a 96-bit set of 15-minute slots held in two longs.
+ * A booking marks every slot it touches, so a clear mask proves a time range is free
+ * while a set bit only means the range may clash and has to be confirmed against
+ * the {@link PitchIntervalIndex}.
+ */
+@Component
+class SlotOccupancyCalendar
+{
+    static final int SLOT_MINUTES = 15;
+    static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    private final Map<Long, PitchDays> calendars = new ConcurrentHashMap<>();
+
+    void load(Collection<BookingEntity> bookingEntities)
+    {
+        calendars.clear();
+        bookingEntities.forEach(this::occupy);
+    }
+
+    void occupy(BookingEntity bookingEntity)
+    {
+        occupy(bookingEntity.getPitchId(), bookingEntity.getStartTime(), bookingEntity.getEndTime());
+    }
+
+    void occupy(Long pitchId, LocalDateTime start, LocalDateTime end)
+    {
+        PitchDays pitchDays = calendars.computeIfAbsent(pitchId, id -> new PitchDays());
+        forEachDay(start, end, (epochDay, fromSlot, toSlot) -> pitchDays.occupy(epochDay, fromSlot, toSlot));
+    }
+
+    boolean isFree(Long pitchId, LocalDateTime start, LocalDateTime end)
+    {
+        PitchDays pitchDays = calendars.get(pitchId);
+        if (pitchDays == null)
+        {
+            return true;
+        }
+
+        long epochDay = start.toLocalDate().toEpochDay();
+        long lastEpochDay = end.minusNanos(1).toLocalDate().toEpochDay();
+        for (long day = epochDay; day <= lastEpochDay; day++)
+        {
+            int fromSlot = day == epochDay ? slotOf(start) : 0;
+            int toSlot = day == lastEpochDay ? slotAfter(end) : SLOTS_PER_DAY;
+            if (pitchDays.intersects(day, fromSlot, toSlot))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int nextFreeSlot(Long pitchId, LocalDate date, int fromSlot)
+    {
+        PitchDays pitchDays = calendars.get(pitchId);
+        if (pitchDays == null)
+        {
+            return Math.min(fromSlot, SLOTS_PER_DAY);
+        }
+        return pitchDays.nextSlot(date.toEpochDay(), fromSlot, false);
+    }
+
+    int nextOccupiedSlot(Long pitchId, LocalDate date, int fromSlot)
+    {
+        PitchDays pitchDays = calendars.get(pitchId);
+        if (pitchDays == null)
+        {
+            return SLOTS_PER_DAY;
+        }
+        return pitchDays.nextSlot(date.toEpochDay(), fromSlot, true);
+    }
+
+    int freeSlotCount(Long pitchId, LocalDate date)
+    {
+        PitchDays pitchDays = calendars.get(pitchId);
+        return pitchDays == null ? SLOTS_PER_DAY : SLOTS_PER_DAY - pitchDays.occupiedCount(date.toEpochDay());
+    }
+
+    static int slotOf(LocalDateTime time)
+    {
+        return (time.getHour() * 60 + time.getMinute()) / SLOT_MINUTES;
+    }
+
+    static int slotAfter(LocalDateTime end)
+    {
+        LocalDateTime last = end.minusNanos(1);
+        return slotOf(last) + 1;
+    }
+
+    private static void forEachDay(LocalDateTime start, LocalDateTime end, SlotRangeConsumer consumer)
+    {
+        long epochDay = start.toLocalDate().toEpochDay();
+        long lastEpochDay = end.minusNanos(1).toLocalDate().toEpochDay();
+        for (long day = epochDay; day <= lastEpochDay; day++)
+        {
+            int fromSlot = day == epochDay ? slotOf(start) : 0;
+            int toSlot = day == lastEpochDay ? slotAfter(end) : SLOTS_PER_DAY;
+            consumer.accept(day, fromSlot, toSlot);
+        }
+    }
+
+    private static long rangeMask(int fromSlot, int toSlot, int word)
+    {
+        int low = Math.max(fromSlot, word << 6) - (word << 6);
+        int high = Math.min(toSlot, (word + 1) << 6) - (word << 6);
+        if (low >= high)
+        {
+            return 0L;
+        }
+        long upTo = high == 64 ? -1L : (1L << high) - 1;
+        return upTo & (-1L << low);
+    }
+
+    @FunctionalInterface
+    private interface SlotRangeConsumer
+    {
+        void accept(long epochDay, int fromSlot, int toSlot);
+    }
+
+    /**
+     * Open-addressing map from epoch day to its two occupancy words, so lookups never box the day.
+     */
+    private static final class PitchDays
+    {
+        private static final long EMPTY = Long.MIN_VALUE;
+        private static final long LAST_WORD_SLOTS = (1L << (SLOTS_PER_DAY - 64)) - 1;
+
+        private long[] days = emptyKeys(16);
+        private long[] words = new long[32];
+        private int size;
+
+        synchronized void occupy(long epochDay, int fromSlot, int toSlot)
+        {
+            int index = indexFor(epochDay);
+            words[index << 1] |= rangeMask(fromSlot, toSlot, 0);
+            words[(index << 1) + 1] |= rangeMask(fromSlot, toSlot, 1);
+        }
+
+        synchronized boolean intersects(long epochDay, int fromSlot, int toSlot)
+        {
+            int index = find(epochDay);
+            if (index < 0)
+            {
+                return false;
+            }
+            return (words[index << 1] & rangeMask(fromSlot, toSlot, 0)) != 0
+                    || (words[(index << 1) + 1] & rangeMask(fromSlot, toSlot, 1)) != 0;
+        }
+
+        synchronized int nextSlot(long epochDay, int fromSlot, boolean occupied)
+        {
+            if (fromSlot >= SLOTS_PER_DAY)
+            {
+                return SLOTS_PER_DAY;
+            }
+            int index = find(epochDay);
+            if (index < 0)
+            {
+                return occupied ? SLOTS_PER_DAY : fromSlot;
+            }
+
+            for (int word = fromSlot >>> 6; word < 2; word++)
+            {
+                long bits = occupied ? words[(index << 1) + word] : ~words[(index << 1) + word];
+                if (word == 1)
+                {
+                    bits &= LAST_WORD_SLOTS;
+                }
+                if (word == fromSlot >>> 6)
+                {
+                    bits &= -1L << (fromSlot & 63);
+                }
+                if (bits != 0)
+                {
+                    return (word << 6) + Long.numberOfTrailingZeros(bits);
+                }
+            }
+            return SLOTS_PER_DAY;
+        }
+
+        synchronized int occupiedCount(long epochDay)
+        {
+            int index = find(epochDay);
+            return index < 0 ? 0 : Long.bitCount(words[index << 1]) + Long.bitCount(words[(index << 1) + 1]);
+        }
+
+        private int find(long epochDay)
+        {
+            int mask = days.length - 1;
+            for (int index = hash(epochDay) & mask; ; index = (index + 1) & mask)
+            {
+                if (days[index] == epochDay)
+                {
+                    return index;
+                }
+                if (days[index] == EMPTY)
+                {
+                    return -1;
+                }
+            }
+        }
+
+        private int indexFor(long epochDay)
+        {
+            int found = find(epochDay);
+            if (found >= 0)
+            {
+                return found;
+            }
+            if ((size + 1) << 1 > days.length)
+            {
+                resize();
+            }
+            int mask = days.length - 1;
+            int index = hash(epochDay) & mask;
+            while (days[index] != EMPTY)
+            {
+                index = (index + 1) & mask;
+            }
+            days[index] = epochDay;
+            size++;
+            return index;
+        }
+
+        private void resize()
+        {
+            long[] oldDays = days;
+            long[] oldWords = words;
+            days = emptyKeys(oldDays.length << 1);
+            words = new long[days.length << 1];
+            int mask = days.length - 1;
+            for (int old = 0; old < oldDays.length; old++)
+            {
+                if (oldDays[old] == EMPTY)
+                {
+                    continue;
+                }
+                int index = hash(oldDays[old]) & mask;
+                while (days[index] != EMPTY)
+                {
+                    index = (index + 1) & mask;
+                }
+                days[index] = oldDays[old];
+                words[index << 1] = oldWords[old << 1];
+                words[(index << 1) + 1] = oldWords[(old << 1) + 1];
+            }
+        }
+
+        private static long[] emptyKeys(int capacity)
+        {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+
+        private static int hash(long epochDay)
+        {
+            long mixed = epochDay * 0x9E3779B97F4A7C15L;
+            return (int) (mixed ^ (mixed >>> 32));
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.miki.footballpitch.booking.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+public record AvailableWindow(
+        Long pitchId,
+
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        LocalDateTime startTime,
+
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        LocalDateTime endTime,
+
+        int durationMinutes
+) {}
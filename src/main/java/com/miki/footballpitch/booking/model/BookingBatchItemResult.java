@@ -0,0 +1,18 @@
+package com.miki.footballpitch.booking.model;
+
+public record BookingBatchItemResult(
+        int index,
+        Booking booking,
+        String error
+)
+{
+    public static BookingBatchItemResult accepted(int index, Booking booking)
+    {
+        return new BookingBatchItemResult(index, booking, null);
+    }
+
+    public static BookingBatchItemResult rejected(int index, String error)
+    {
+        return new BookingBatchItemResult(index, null, error);
+    }
+}
@@ -0,0 +1,12 @@
+package com.miki.footballpitch.booking.model;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BookingBatchRequest(
+        @NotEmpty(message = "Batch must contain at least one booking")
+        @Size(max = 1000, message = "Batch cannot contain more than 1000 bookings")
+        List<BookingRequest> bookings
+) {}
@@ -0,0 +1,16 @@
+package com.miki.footballpitch.booking.model;
+
+import java.util.List;
+
+public record BookingBatchResponse(
+        int accepted,
+        int rejected,
+        List<BookingBatchItemResult> results
+)
+{
+    public static BookingBatchResponse of(List<BookingBatchItemResult> results)
+    {
+        int accepted = (int) results.stream().filter(result -> result.error() == null).count();
+        return new BookingBatchResponse(accepted, results.size() - accepted, results);
+    }
+}
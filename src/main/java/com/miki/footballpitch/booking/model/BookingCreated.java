@@ -0,0 +1,13 @@
+package com.miki.footballpitch.booking.model;
+
+import com.miki.footballpitch.common.DomainEvent;
+
+import java.time.Instant;
+
+public record BookingCreated(Booking booking, Instant occurredAt) implements DomainEvent
+{
+    public static BookingCreated of(Booking booking)
+    {
+        return new BookingCreated(booking, Instant.now());
+    }
+}
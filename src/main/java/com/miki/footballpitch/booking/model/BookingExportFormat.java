@@ -0,0 +1,36 @@
+package com.miki.footballpitch.booking.model;
+
+public enum BookingExportFormat
+{
+    NDJSON("application/x-ndjson"),
+    CSV("text/csv");
+
+    private final String contentType;
+
+    BookingExportFormat(String contentType)
+    {
+        this.contentType = contentType;
+    }
+
+    public String contentType()
+    {
+        return contentType;
+    }
+
+    public String fileExtension()
+    {
+        return name().toLowerCase();
+    }
+
+    public static BookingExportFormat from(String format)
+    {
+        for (BookingExportFormat exportFormat : values())
+        {
+            if (exportFormat.name().equalsIgnoreCase(format))
+            {
+                return exportFormat;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + format);
+    }
+}
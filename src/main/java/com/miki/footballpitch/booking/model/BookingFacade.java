@@ -1,6 +1,8 @@
 package com.miki.footballpitch.booking.model;
 
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -8,5 +10,28 @@ public interface BookingFacade
 {
     Booking bookPitch(BookingRequest request);
 
+    SlotHold holdSlot(BookingRequest request);
+
+    Booking confirmHold(String token);
+
+    void releaseHold(String token);
+
+    BookingBatchResponse bookPitches(List<BookingRequest> requests);
+
     List<Booking> getBookingsForPlayerOnDate(Long playerId, LocalDateTime date);
+
+    BookingPage getPlayerBookings(Long playerId, LocalDateTime from, LocalDateTime to, String cursor, int size);
+
+    BookingPage getPitchBookings(Long pitchId, LocalDateTime from, LocalDateTime to, String cursor, int size);
+
+    int getRemainingMinutes(Long playerId, LocalDateTime date);
+
+    List<AvailableWindow> findAvailability(Long pitchId, LocalDateTime from, LocalDateTime to, int minDurationMinutes);
+
+    void exportBookings(LocalDateTime from, LocalDateTime to, BookingExportFormat format, OutputStream outputStream)
+            throws IOException;
+
+    IndexConsistencyReport checkIndexConsistency();
+
+    int rebuildPlayerBookingProjection();
 }
@@ -0,0 +1,8 @@
+package com.miki.footballpitch.booking.model;
+
+import java.util.List;
+
+public record BookingPage(
+        List<Booking> bookings,
+        String nextCursor
+) {}
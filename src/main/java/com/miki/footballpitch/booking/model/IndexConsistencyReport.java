@@ -0,0 +1,16 @@
+package com.miki.footballpitch.booking.model;
+
+import java.util.List;
+
+public record IndexConsistencyReport(
+        long storedBookings,
+        long indexedBookings,
+        List<Long> inconsistentPitchIds,
+        boolean consistent
+)
+{
+    public static IndexConsistencyReport of(long storedBookings, long indexedBookings, List<Long> inconsistentPitchIds)
+    {
+        return new IndexConsistencyReport(storedBookings, indexedBookings, inconsistentPitchIds, inconsistentPitchIds.isEmpty());
+    }
+}
@@ -0,0 +1,29 @@
+package com.miki.footballpitch.booking.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+public record SlotHold(
+        String token,
+        Long pitchId,
+        Long playerId,
+
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        LocalDateTime startTime,
+
+        int durationMinutes,
+        Instant expiresAt
+)
+{
+    public LocalDateTime endTime()
+    {
+        return startTime.plusMinutes(durationMinutes);
+    }
+
+    public BookingRequest toBookingRequest()
+    {
+        return new BookingRequest(pitchId, playerId, startTime, durationMinutes);
+    }
+}
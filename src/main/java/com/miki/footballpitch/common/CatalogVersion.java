@@ -0,0 +1,49 @@
+package com.miki.footballpitch.common;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counter for a rarely changing read model, rendered as a strong ETag so polling clients can be answered
+ * with 304 Not Modified before any repository is touched. The tag carries a start stamp, so a counter that starts
+ * again from zero after a restart never matches a tag handed out before it.
+ */
+public final class CatalogVersion
+{
+    private final String startStamp = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong version = new AtomicLong();
+
+    public void bump()
+    {
+        version.incrementAndGet();
+    }
+
+    /**
+     * Bumps once the surrounding transaction commits, or right away outside one, so the tag never moves ahead
+     * of what readers can see.
+     */
+    public void bumpAfterCommit()
+    {
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            bump();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization()
+        {
+            @Override
+            public void afterCommit()
+            {
+                bump();
+            }
+        });
+    }
+
+    public String eTag()
+    {
+        return "\"" + startStamp + "-" + version.get() + "\"";
+    }
+}
@@ -0,0 +1,12 @@
+package com.miki.footballpitch.common;
+
+import java.time.Instant;
+
+/**
+ * Event published by a module through the event publication registry. {@link #occurredAt()} is taken when the
+ * event is created so listeners can report how long delivery took.
+ */
+public interface DomainEvent
+{
+    Instant occurredAt();
+}
@@ -0,0 +1,40 @@
+package com.miki.footballpitch.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records how long a domain event takes from creation to delivery once its transaction commits. Every consumer
+ * of these events is a synchronous {@link TransactionalEventListener} in that same after-commit phase, so this is
+ * the lag they see.
+ */
+@Component
+@RequiredArgsConstructor
+class EventPublicationLagRecorder
+{
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, Timer> timersByEventType = new ConcurrentHashMap<>();
+
+    @TransactionalEventListener
+    void on(DomainEvent event)
+    {
+        timersByEventType.computeIfAbsent(event.getClass(), this::lagTimer)
+                .record(Duration.between(event.occurredAt(), Instant.now()));
+    }
+
+    private Timer lagTimer(Class<?> eventType)
+    {
+        return Timer.builder("events.publication.lag")
+                .description("Time from creating a domain event to its delivery after commit")
+                .tag("event", eventType.getSimpleName())
+                .register(meterRegistry);
+    }
+}
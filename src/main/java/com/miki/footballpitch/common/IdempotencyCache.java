@@ -0,0 +1,147 @@
+package com.miki.footballpitch.common;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the outcome of requests sent with an Idempotency-Key header. The first request for a key runs
+ * the action, concurrent duplicates wait for its result and later retries get the stored result back.
+ * Failed actions are forgotten so the client can retry them. Entries are evicted oldest first from an insertion
+ * queue; entries whose action is still running are never evicted, so a retry cannot run the action twice.
+ */
+@Component
+public class IdempotencyCache
+{
+    private static final int EVICTION_SCAN_LIMIT = 16;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<QueuedKey> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    IdempotencyCache(@Value("${idempotency.ttl:PT1H}") Duration ttl,
+                     @Value("${idempotency.max-entries:10000}") int maxEntries)
+    {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    public <T> T execute(String scope, String idempotencyKey, Object request, Supplier<T> action)
+    {
+        if (idempotencyKey == null || idempotencyKey.isBlank())
+        {
+            return action.get();
+        }
+
+        String key = scope + ":" + idempotencyKey;
+        long now = System.nanoTime();
+        Entry created = new Entry(request, new CompletableFuture<>(), now + ttlNanos);
+        Entry entry = entries.compute(key, (k, existing) -> existing != null && existing.isLive(now) ? existing : created);
+
+        if (entry != created)
+        {
+            if (!Objects.equals(entry.request(), request))
+            {
+                throw new IllegalArgumentException("Idempotency key was already used for a different request");
+            }
+            return awaitResult(entry);
+        }
+
+        insertionOrder.add(new QueuedKey(key, created));
+        evict(now);
+        try
+        {
+            T result = action.get();
+            created.result().complete(result);
+            return result;
+        }
+        catch (Throwable e)
+        {
+            entries.remove(key, created);
+            created.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T awaitResult(Entry entry)
+    {
+        try
+        {
+            return (T) entry.result().join();
+        }
+        catch (CompletionException e)
+        {
+            if (e.getCause() instanceof RuntimeException cause)
+            {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause)
+            {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Drops expired entries from the head of the queue, then the oldest completed ones while over capacity.
+     * Each call inspects a bounded number of queued keys, so eviction stays O(1) on the request path; entries
+     * still in flight are moved to the back and looked at again later.
+     */
+    private void evict(long now)
+    {
+        for (int scanned = 0; scanned < EVICTION_SCAN_LIMIT; scanned++)
+        {
+            QueuedKey oldest = insertionOrder.peek();
+            if (oldest == null)
+            {
+                return;
+            }
+            if (entries.get(oldest.key()) != oldest.entry())
+            {
+                insertionOrder.remove(oldest);
+                continue;
+            }
+
+            boolean full = entries.size() > maxEntries;
+            if (!full && oldest.entry().isLive(now))
+            {
+                return;
+            }
+
+            if (!insertionOrder.remove(oldest))
+            {
+                continue;
+            }
+            if (oldest.entry().result().isDone())
+            {
+                entries.remove(oldest.key(), oldest.entry());
+            }
+            else
+            {
+                insertionOrder.add(oldest);
+            }
+        }
+    }
+
+    private record Entry(Object request, CompletableFuture<Object> result, long expiresAtNanos)
+    {
+        boolean isLive(long now)
+        {
+            return !result.isDone() || expiresAtNanos - now > 0;
+        }
+    }
+
+    private record QueuedKey(String key, Entry entry) {}
+}
@@ -0,0 +1,50 @@
+package com.miki.footballpitch.common;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a listing ordered by (time, id), carried by clients as an opaque token. Ascending pages continue
+ * after it and newest-first pages before it. Ids start at 1, so {@link #atBoundary} includes the boundary time
+ * when paging forward from {@code from} and excludes it when paging back from {@code to}: every listing covers
+ * the half-open range [from, to).
+ */
+public record KeysetCursor(LocalDateTime time, long id)
+{
+    private static final String SEPARATOR = "|";
+
+    public static KeysetCursor atBoundary(LocalDateTime time)
+    {
+        return new KeysetCursor(time, 0L);
+    }
+
+    public static KeysetCursor decode(String token, LocalDateTime boundary)
+    {
+        if (token == null || token.isBlank())
+        {
+            return atBoundary(boundary);
+        }
+
+        try
+        {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+            return new KeysetCursor(
+                    LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1))
+            );
+        }
+        catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e)
+        {
+            throw new IllegalArgumentException("Invalid page cursor: " + token);
+        }
+    }
+
+    public String encode()
+    {
+        String raw = time + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
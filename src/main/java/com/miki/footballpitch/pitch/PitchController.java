@@ -5,6 +5,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -30,8 +31,12 @@ class PitchController
     }
 
     @GetMapping("/active")
-    public List<Pitch> getActivePitches()
+    public List<Pitch> getActivePitches(WebRequest webRequest)
     {
+        if (webRequest.checkNotModified(pitchFacade.getActivePitchesETag()))
+        {
+            return null;
+        }
         return pitchFacade.getActivePitches();
     }
 
@@ -1,5 +1,6 @@
 package com.miki.footballpitch.pitch;
 
+import com.miki.footballpitch.common.CatalogVersion;
 import com.miki.footballpitch.pitch.model.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -13,6 +14,7 @@ class PitchService implements PitchFacade
 {
 
     private final PitchRepository pitchRepository;
+    private final CatalogVersion pitchesVersion = new CatalogVersion();
 
     @Override
     @Transactional
@@ -25,6 +27,7 @@ class PitchService implements PitchFacade
 
         PitchEntity pitchEntity = new PitchEntity(pitchRequest.id(), pitchRequest.name());
         PitchEntity savedPitch = pitchRepository.save(pitchEntity);
+        pitchesVersion.bumpAfterCommit();
         return toPitch(savedPitch);
     }
 
@@ -46,6 +49,12 @@ class PitchService implements PitchFacade
                 .toList();
     }
 
+    @Override
+    public String getActivePitchesETag()
+    {
+        return pitchesVersion.eTag();
+    }
+
     @Override
     public Pitch getPitch(String pitchId)
     {
@@ -63,6 +72,7 @@ class PitchService implements PitchFacade
 
         pitch.setActive(false);
         pitchRepository.save(pitch);
+        pitchesVersion.bumpAfterCommit();
     }
 
     @Override
@@ -11,6 +11,8 @@ public interface PitchFacade
 
     List<Pitch> getActivePitches();
 
+    String getActivePitchesETag();
+
     Pitch getPitch(String pitchId);
 
     void deactivatePitch(String pitchId);
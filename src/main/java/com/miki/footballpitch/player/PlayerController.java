@@ -6,6 +6,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -38,8 +39,12 @@ class PlayerController
     }
 
     @GetMapping("/types")
-    public List<PlayerType> getActivePlayerTypes()
+    public List<PlayerType> getActivePlayerTypes(WebRequest webRequest)
     {
+        if (webRequest.checkNotModified(playerFacade.getActivePlayerTypesETag()))
+        {
+            return null;
+        }
         return playerFacade.getActivePlayerTypes();
     }
 
@@ -1,5 +1,6 @@
 package com.miki.footballpitch.player;
 
+import com.miki.footballpitch.common.CatalogVersion;
 import com.miki.footballpitch.player.model.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -14,6 +15,7 @@ class PlayerService implements PlayerFacade
 
     private final PlayerRepository playerRepository;
     private final PlayerTypeRepository playerTypeRepository;
+    private final CatalogVersion playerTypesVersion = new CatalogVersion();
 
     @Override
     @Transactional
@@ -75,6 +77,12 @@ class PlayerService implements PlayerFacade
                 .toList();
     }
 
+    @Override
+    public String getActivePlayerTypesETag()
+    {
+        return playerTypesVersion.eTag();
+    }
+
     @Override
     public PlayerType getPlayerType(String typeCode)
     {
@@ -17,5 +17,7 @@ public interface PlayerFacade
 
     List<PlayerType> getActivePlayerTypes();
 
+    String getActivePlayerTypesETag();
+
     PlayerType getPlayerType(String typeCode);
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.miki.footballpitch.ranking;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "ranking.rating.engine", havingValue = "elo", matchIfMissing = true)
+class EloRatingEngine implements RatingEngine
+{
+    private final double kFactor;
+    private final double initialRating;
+
+    EloRatingEngine(@Value("${ranking.rating.elo.k-factor:32}") double kFactor,
+                    @Value("${ranking.rating.initial:1500}") double initialRating)
+    {
+        this.kFactor = kFactor;
+        this.initialRating = initialRating;
+    }
+
+    @Override
+    public double initialRating()
+    {
+        return initialRating;
+    }
+
+    @Override
+    public void applyResult(double[] ratings, int winnerIndex, int loserIndex)
+    {
+        double expectedWin = 1.0 / (1.0 + Math.pow(10.0, (ratings[loserIndex] - ratings[winnerIndex]) / 400.0));
+        double change = kFactor * (1.0 - expectedWin);
+        ratings[winnerIndex] += change;
+        ratings[loserIndex] -= change;
+    }
+}
@@ -0,0 +1,211 @@
+package com.miki.footballpitch.ranking;
+
+import com.miki.footballpitch.ranking.model.HeadToHead;
+import com.miki.footballpitch.ranking.model.Match;
+import com.miki.footballpitch.ranking.model.MatchRecorded;
+import com.miki.footballpitch.ranking.model.MatchesRecorded;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Head-to-head aggregates keyed by the unordered player pair, packed into a long from the cache's own
+ * {@link PlayerIndex}. A pair's win counts and recent matches are loaded from the matches table on first request and then
+ * kept current from committed {@link MatchRecorded} events. An event that cannot be placed safely (older than the
+ * newest loaded match and outside the recent window) evicts the pair so the next read reloads it. Pairs are loaded
+ * outside the map's locks and evicted oldest load first once over capacity.
+ */
+@Component
+class HeadToHeadCache
+{
+    static final int RECENT_MATCHES = 20;
+    private static final int EVENT_STRIPES = 64;
+
+    private final RankingRepository rankingRepository;
+    private final int maxPairs;
+    private final PlayerIndex players = new PlayerIndex();
+    private final Map<Long, CachedPair> records = new ConcurrentHashMap<>();
+    private final Queue<CachedPair> loadOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicLongArray eventsByStripe = new AtomicLongArray(EVENT_STRIPES);
+
+    HeadToHeadCache(RankingRepository rankingRepository,
+                    @Value("${ranking.head-to-head.max-pairs:10000}") int maxPairs)
+    {
+        this.rankingRepository = rankingRepository;
+        this.maxPairs = maxPairs;
+    }
+
+    HeadToHead get(String playerId, String opponentId, int last)
+    {
+        PlayerPair pair = pair(playerId, opponentId);
+        CachedPair cached = records.get(pair.key());
+        PairRecord pairRecord = cached != null ? cached.pairRecord : loadAndCache(pair);
+        return pairRecord.view(pair, playerId, last);
+    }
+
+    @TransactionalEventListener
+    void on(MatchRecorded event)
+    {
+        apply(event.match());
+    }
+
+    @TransactionalEventListener
+    void on(MatchesRecorded event)
+    {
+        event.matches().forEach(this::apply);
+    }
+
+    /**
+     * Counts the event against the pair's stripe before applying it, so a load of that pair running at the same
+     * time notices the event and does not cache a result that may be missing it.
+     */
+    private void apply(Match match)
+    {
+        PlayerPair pair = pair(match.player1Id(), match.player2Id());
+        eventsByStripe.incrementAndGet(stripe(pair));
+        CachedPair[] evicted = new CachedPair[1];
+        records.computeIfPresent(pair.key(), (key, cached) ->
+        {
+            PairRecord updated = cached.pairRecord.with(cached.pair, match);
+            if (updated == null)
+            {
+                evicted[0] = cached;
+                return null;
+            }
+            cached.pairRecord = updated;
+            return cached;
+        });
+        if (evicted[0] != null)
+        {
+            loadOrder.remove(evicted[0]);
+        }
+    }
+
+    private PairRecord loadAndCache(PlayerPair pair)
+    {
+        long eventsBefore = eventsByStripe.get(stripe(pair));
+        CachedPair loaded = new CachedPair(pair, load(pair));
+        CachedPair existing = records.putIfAbsent(pair.key(), loaded);
+        if (existing != null)
+        {
+            return existing.pairRecord;
+        }
+        if (eventsByStripe.get(stripe(pair)) != eventsBefore)
+        {
+            records.remove(pair.key(), loaded);
+            return loaded.pairRecord;
+        }
+
+        loadOrder.add(loaded);
+        evictIfFull();
+        return loaded.pairRecord;
+    }
+
+    /**
+     * Counts the pair's wins in the database and fetches only the recent window, so a long rivalry costs one
+     * aggregate and a bounded page rather than its whole match list.
+     */
+    private PairRecord load(PlayerPair pair)
+    {
+        PairWins wins = rankingRepository.countPairWins(pair.first(), pair.second());
+        List<Match> recent = rankingRepository.findRecentBetween(pair.first(), pair.second(), Limit.of(RECENT_MATCHES))
+                .stream()
+                .map(MatchEntity::mapToDto)
+                .toList();
+
+        long newestMatchId = recent.isEmpty() ? 0 : recent.getFirst().id();
+        return new PairRecord((int) wins.firstWins(), (int) wins.secondWins(), newestMatchId, recent);
+    }
+
+    private void evictIfFull()
+    {
+        while (records.size() > maxPairs)
+        {
+            CachedPair oldest = loadOrder.poll();
+            if (oldest == null)
+            {
+                return;
+            }
+            records.remove(oldest.pair.key(), oldest);
+        }
+    }
+
+    /**
+     * Orders the pair by the players' ints, so the key is the same whichever player asks.
+     */
+    private PlayerPair pair(String playerId, String opponentId)
+    {
+        int player = players.indexOf(playerId);
+        int opponent = players.indexOf(opponentId);
+        long key = PlayerIndex.pairKey(player, opponent);
+        return player <= opponent
+                ? new PlayerPair(key, playerId, opponentId)
+                : new PlayerPair(key, opponentId, playerId);
+    }
+
+    private static int stripe(PlayerPair pair)
+    {
+        int hash = Long.hashCode(pair.key());
+        return (hash ^ (hash >>> 16)) & (EVENT_STRIPES - 1);
+    }
+
+    private record PlayerPair(long key, String first, String second)
+    {
+    }
+
+    /**
+     * A loaded pair; events replace its record under the map's lock for the pair, readers see it through the
+     * volatile field. Eviction removes by identity, so an old load never evicts a newer one.
+     */
+    private static final class CachedPair
+    {
+        private final PlayerPair pair;
+        private volatile PairRecord pairRecord;
+
+        CachedPair(PlayerPair pair, PairRecord pairRecord)
+        {
+            this.pair = pair;
+            this.pairRecord = pairRecord;
+        }
+    }
+
+    private record PairRecord(int firstWins, int secondWins, long newestMatchId, List<Match> recentMatches)
+    {
+        PairRecord with(PlayerPair pair, Match match)
+        {
+            if (match.id() <= newestMatchId)
+            {
+                boolean alreadyCounted = recentMatches.stream().anyMatch(recent -> recent.id().equals(match.id()));
+                return alreadyCounted ? this : null;
+            }
+
+            List<Match> recent = new ArrayList<>(RECENT_MATCHES);
+            recent.add(match);
+            recent.addAll(recentMatches.subList(0, Math.min(RECENT_MATCHES - 1, recentMatches.size())));
+            boolean firstWon = match.winnerId().equals(pair.first());
+            return new PairRecord(firstWins + (firstWon ? 1 : 0), secondWins + (firstWon ? 0 : 1),
+                    match.id(), List.copyOf(recent));
+        }
+
+        HeadToHead view(PlayerPair pair, String playerId, int last)
+        {
+            boolean isFirst = pair.first().equals(playerId);
+            return new HeadToHead(
+                    playerId,
+                    isFirst ? pair.second() : pair.first(),
+                    isFirst ? firstWins : secondWins,
+                    isFirst ? secondWins : firstWins,
+                    recentMatches.subList(0, Math.min(last, recentMatches.size()))
+            );
+        }
+    }
+}
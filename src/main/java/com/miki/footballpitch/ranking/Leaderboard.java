@@ -0,0 +1,165 @@
+package com.miki.footballpitch.ranking;
+
+import com.miki.footballpitch.common.CatalogVersion;
+import com.miki.footballpitch.ranking.model.PlayerRanking;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory leaderboard answering rank, top-K and neighbourhood queries in O(log n) per returned ranking.
+ * Rankings returned from here carry their 1-based rank. Every change bumps a {@link CatalogVersion} under the
+ * write lock, so its ETag always describes what readers see. Rankings are held in an array slotted by a
+ * {@link PlayerIndex} that each load starts afresh, so players dropped by a rebuild do not keep their slots.
+ */
+@Component
+class Leaderboard
+{
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private PlayerIndex players = new PlayerIndex();
+    private PlayerRanking[] rankingsByIndex = new PlayerRanking[16];
+    private final RankingTree rankingTree = new RankingTree();
+    private final CatalogVersion version = new CatalogVersion();
+
+    void load(Collection<PlayerRanking> rankings)
+    {
+        lock.writeLock().lock();
+        try
+        {
+            players = new PlayerIndex();
+            rankingsByIndex = new PlayerRanking[Math.max(16, rankings.size())];
+            rankingTree.clear();
+            rankings.forEach(this::put);
+            version.bump();
+        }
+        finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces a player's ranking. Updates can arrive out of order, so one with fewer matches than the
+     * current entry is stale and ignored.
+     */
+    void update(PlayerRanking ranking)
+    {
+        lock.writeLock().lock();
+        try
+        {
+            PlayerRanking current = current(ranking.playerId());
+            if (current != null)
+            {
+                if (current.totalMatches() > ranking.totalMatches())
+                {
+                    return;
+                }
+                rankingTree.remove(current);
+            }
+            put(ranking);
+            version.bump();
+        }
+        finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+    Optional<PlayerRanking> find(String playerId)
+    {
+        lock.readLock().lock();
+        try
+        {
+            PlayerRanking ranking = current(playerId);
+            return Optional.ofNullable(ranking).map(found -> found.withRank(rankingTree.indexOf(found) + 1));
+        }
+        finally
+        {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<PlayerRanking> range(int offset, int limit)
+    {
+        lock.readLock().lock();
+        try
+        {
+            return ranked(rankingTree.range(offset, limit), offset);
+        }
+        finally
+        {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<PlayerRanking> around(String playerId, int radius)
+    {
+        lock.readLock().lock();
+        try
+        {
+            PlayerRanking ranking = current(playerId);
+            if (ranking == null)
+            {
+                return List.of();
+            }
+            int offset = Math.max(0, rankingTree.indexOf(ranking) - radius);
+            return ranked(rankingTree.range(offset, 2 * radius + 1), offset);
+        }
+        finally
+        {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size()
+    {
+        lock.readLock().lock();
+        try
+        {
+            return rankingTree.size();
+        }
+        finally
+        {
+            lock.readLock().unlock();
+        }
+    }
+
+    String eTag()
+    {
+        return version.eTag();
+    }
+
+    private PlayerRanking current(String playerId)
+    {
+        int index = players.find(playerId);
+        return index == PlayerIndex.ABSENT ? null : rankingsByIndex[index];
+    }
+
+    private void put(PlayerRanking ranking)
+    {
+        PlayerRanking unranked = ranking.withRank(null);
+        int index = players.indexOf(unranked.playerId());
+        if (index == rankingsByIndex.length)
+        {
+            rankingsByIndex = Arrays.copyOf(rankingsByIndex, index * 2);
+        }
+        rankingsByIndex[index] = unranked;
+        rankingTree.insert(unranked);
+    }
+
+    private static List<PlayerRanking> ranked(List<PlayerRanking> rankings, int offset)
+    {
+        List<PlayerRanking> ranked = new ArrayList<>(rankings.size());
+        for (int i = 0; i < rankings.size(); i++)
+        {
+            ranked.add(rankings.get(i).withRank(offset + i + 1));
+        }
+        return ranked;
+    }
+}
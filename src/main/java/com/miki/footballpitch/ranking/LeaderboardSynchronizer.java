@@ -0,0 +1,63 @@
+package com.miki.footballpitch.ranking;
+
+import com.miki.footballpitch.ranking.model.Match;
+import com.miki.footballpitch.ranking.model.MatchRecorded;
+import com.miki.footballpitch.ranking.model.MatchesRecorded;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps the {@link Leaderboard} in step with the player_ranking table: loads it at startup and refreshes the
+ * players of every match, or of a whole batch of matches, once it has committed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class LeaderboardSynchronizer implements SmartInitializingSingleton
+{
+    private final PlayerRankingRepository playerRankingRepository;
+    private final Leaderboard leaderboard;
+
+    @Override
+    public void afterSingletonsInstantiated()
+    {
+        reload();
+        log.info("Loaded {} players into the leaderboard", leaderboard.size());
+    }
+
+    @TransactionalEventListener
+    void on(MatchRecorded event)
+    {
+        Match match = event.match();
+        playerRankingRepository.findAllById(List.of(match.player1Id(), match.player2Id()))
+                .forEach(playerRankingEntity -> leaderboard.update(playerRankingEntity.mapToDto()));
+    }
+
+    @TransactionalEventListener
+    void on(MatchesRecorded event)
+    {
+        Set<String> playerIds = new HashSet<>();
+        event.matches().forEach(match ->
+        {
+            playerIds.add(match.player1Id());
+            playerIds.add(match.player2Id());
+        });
+        playerRankingRepository.findAllById(playerIds)
+                .forEach(playerRankingEntity -> leaderboard.update(playerRankingEntity.mapToDto()));
+    }
+
+    void reload()
+    {
+        leaderboard.load(playerRankingRepository.findAllByOrderByPointsDescPlayerIdAsc()
+                .stream()
+                .map(PlayerRankingEntity::mapToDto)
+                .toList());
+    }
+}
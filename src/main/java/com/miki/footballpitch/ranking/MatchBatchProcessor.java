@@ -0,0 +1,104 @@
+package com.miki.footballpitch.ranking;
+
+import com.miki.footballpitch.ranking.model.Match;
+import com.miki.footballpitch.ranking.model.MatchBatchItemResult;
+import com.miki.footballpitch.ranking.model.MatchBatchResponse;
+import com.miki.footballpitch.ranking.model.MatchRequest;
+import com.miki.footballpitch.ranking.model.MatchesRecorded;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Validates every result of a batch on its own, inserts the valid ones with a single saveAll so Hibernate can
+ * send them as JDBC batches, and applies them to the ranking aggregates once for the whole batch.
+ */
+@Component
+@RequiredArgsConstructor
+class MatchBatchProcessor
+{
+    private final RankingRepository rankingRepository;
+    private final PlayerRankingUpdater playerRankingUpdater;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+
+    @Transactional
+    public MatchBatchResponse process(List<MatchRequest> requests)
+    {
+        String[] errors = new String[requests.size()];
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        List<MatchEntity> acceptedEntities = new ArrayList<>();
+        for (int index = 0; index < requests.size(); index++)
+        {
+            MatchRequest request = requests.get(index);
+            errors[index] = validationError(request);
+            if (errors[index] == null)
+            {
+                acceptedIndexes.add(index);
+                acceptedEntities.add(new MatchEntity(request.player1Id(), request.player2Id(), request.winnerId()));
+            }
+        }
+
+        Map<Integer, Match> saved = new HashMap<>();
+        if (!acceptedEntities.isEmpty())
+        {
+            List<Match> matches = rankingRepository.saveAll(acceptedEntities)
+                    .stream()
+                    .map(MatchEntity::mapToDto)
+                    .toList();
+            playerRankingUpdater.apply(matches);
+            eventPublisher.publishEvent(MatchesRecorded.of(matches));
+            for (int i = 0; i < matches.size(); i++)
+            {
+                saved.put(acceptedIndexes.get(i), matches.get(i));
+            }
+        }
+
+        List<MatchBatchItemResult> results = new ArrayList<>(requests.size());
+        for (int index = 0; index < requests.size(); index++)
+        {
+            Match match = saved.get(index);
+            results.add(match != null
+                    ? MatchBatchItemResult.accepted(index, match)
+                    : MatchBatchItemResult.rejected(index, errors[index]));
+        }
+        return MatchBatchResponse.of(results);
+    }
+
+    private String validationError(MatchRequest request)
+    {
+        if (request == null)
+        {
+            return "Match cannot be null";
+        }
+
+        Set<ConstraintViolation<MatchRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty())
+        {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+
+        try
+        {
+            RankingService.validateMatchRequest(request);
+            return null;
+        }
+        catch (IllegalArgumentException e)
+        {
+            return e.getMessage();
+        }
+    }
+}
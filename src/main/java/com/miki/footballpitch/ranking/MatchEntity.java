@@ -1,5 +1,6 @@
 package com.miki.footballpitch.ranking;
 
+import com.miki.footballpitch.ranking.model.Match;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -9,7 +10,13 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
-@Table(name = "matches")
+@Table(name = "matches", indexes = {
+        @Index(name = "idx_matches_date", columnList = "match_date, id"),
+        @Index(name = "idx_matches_player1_date", columnList = "player1_id, match_date, id"),
+        @Index(name = "idx_matches_player2_date", columnList = "player2_id, match_date, id"),
+        @Index(name = "idx_matches_pair_winner", columnList = "player1_id, player2_id, winner_id"),
+        @Index(name = "idx_matches_checkpoint", columnList = "checkpoint_id, committed_late")
+})
 @NoArgsConstructor
 @Getter
 @Setter
@@ -17,7 +24,8 @@ class MatchEntity
 {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "match_seq")
+    @SequenceGenerator(name = "match_seq", sequenceName = "match_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "player1_id", nullable = false)
@@ -32,6 +40,19 @@ class MatchEntity
     @Column(name = "match_date", nullable = false)
     private LocalDateTime matchDate;
 
+    /**
+     * The ranking checkpoint that absorbed this match; null until one has. Set after commit by the checkpoint
+     * itself, so it follows commit order where match dates and ids do not.
+     */
+    @Column(name = "checkpoint_id")
+    private Long checkpointId;
+
+    /**
+     * Whether the match committed after a checkpoint that its date already fell under.
+     */
+    @Column(name = "committed_late", nullable = false)
+    private boolean committedLate;
+
     public MatchEntity(String player1Id, String player2Id, String winnerId)
     {
         this.player1Id = player1Id;
@@ -40,6 +61,11 @@ class MatchEntity
         this.matchDate = LocalDateTime.now();
     }
 
+    Match mapToDto()
+    {
+        return new Match(id, player1Id, player2Id, winnerId, matchDate);
+    }
+
     @Override
     public boolean equals(Object o)
     {
@@ -0,0 +1,53 @@
+package com.miki.footballpitch.ranking;
+
+import com.miki.footballpitch.common.KeysetCursor;
+import com.miki.footballpitch.ranking.model.MatchPage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Newest-first pages of a player's matches. A player appears in either of two columns, so each page is read as
+ * two keyset range scans, one per column index, each bounded by the page size, and merged here. Like booking
+ * listings, a page covers matches dated in [from, to).
+ */
+@Component
+@RequiredArgsConstructor
+class MatchHistory
+{
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    private static final Comparator<MatchEntity> NEWEST_FIRST = Comparator
+            .comparing(MatchEntity::getMatchDate)
+            .thenComparing(MatchEntity::getId)
+            .reversed();
+
+    private final RankingRepository rankingRepository;
+
+    MatchPage page(String playerId, LocalDateTime from, LocalDateTime to, String cursor, int size)
+    {
+        KeysetCursor before = KeysetCursor.decode(cursor, to != null ? to : LATEST);
+        LocalDateTime lowerBound = from != null ? from : EARLIEST;
+        Limit limit = Limit.of(size + 1);
+
+        List<MatchEntity> matchEntities = new ArrayList<>(2 * size + 2);
+        matchEntities.addAll(rankingRepository.findPlayer1Page(playerId, lowerBound, before.time(), before.id(), limit));
+        matchEntities.addAll(rankingRepository.findPlayer2Page(playerId, lowerBound, before.time(), before.id(), limit));
+        matchEntities.sort(NEWEST_FIRST);
+
+        if (matchEntities.size() <= size)
+        {
+            return new MatchPage(matchEntities.stream().map(MatchEntity::mapToDto).toList(), null);
+        }
+
+        List<MatchEntity> page = matchEntities.subList(0, size);
+        MatchEntity last = page.get(size - 1);
+        String nextCursor = new KeysetCursor(last.getMatchDate(), last.getId()).encode();
+        return new MatchPage(page.stream().map(MatchEntity::mapToDto).toList(), nextCursor);
+    }
+}
@@ -0,0 +1,9 @@
+package com.miki.footballpitch.ranking;
+
+record MatchResult(String player1Id, String player2Id, String winnerId)
+{
+    String loserId()
+    {
+        return winnerId.equals(player1Id) ? player2Id : player1Id;
+    }
+}
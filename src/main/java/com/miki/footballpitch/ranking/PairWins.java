@@ -0,0 +1,3 @@
+package com.miki.footballpitch.ranking;
+
+record PairWins(long firstWins, long secondWins) {}
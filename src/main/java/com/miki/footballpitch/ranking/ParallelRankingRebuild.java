@@ -0,0 +1,253 @@
+package com.miki.footballpitch.ranking;
+
+import com.miki.footballpitch.ranking.model.PlayerRanking;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Stream;
+
+/**
+ * Recomputes every player's ranking from the full match log. Matches are read through a JDBC cursor and encoded
+ * into chunks of dense player indexes; each full chunk is aggregated by fork-join tasks into per-worker primitive
+ * counters while the next chunk is read. Ratings depend on match order, so they are applied on the reading thread
+ * over the same encoded indexes. That sequential pass, not the parallel win/loss counting, bounds the throughput.
+ */
+@Component
+class ParallelRankingRebuild implements DisposableBean
+{
+    private static final int LEAF_SIZE = 8192;
+
+    private final RankingRepository rankingRepository;
+    private final RatingEngine ratingEngine;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    ParallelRankingRebuild(RankingRepository rankingRepository,
+                           RatingEngine ratingEngine,
+                           @Value("${ranking.rebuild.parallelism:0}") int parallelism,
+                           @Value("${ranking.rebuild.chunk-size:65536}") int chunkSize)
+    {
+        this.rankingRepository = rankingRepository;
+        this.ratingEngine = ratingEngine;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.chunkSize = chunkSize;
+    }
+
+    @Transactional(readOnly = true)
+    public List<PlayerRanking> rebuild()
+    {
+        try (Stream<MatchResult> results = rankingRepository.streamResultsInMatchOrder())
+        {
+            return rebuild(results.iterator());
+        }
+    }
+
+    List<PlayerRanking> rebuild(Iterator<MatchResult> results)
+    {
+        Encoder encoder = new Encoder(ratingEngine.initialRating());
+        WorkerCounters counters = new WorkerCounters();
+        Chunk chunk = new Chunk(chunkSize);
+        ForkJoinTask<Void> inFlight = null;
+
+        while (results.hasNext())
+        {
+            MatchResult result = results.next();
+            int winner = encoder.indexOf(result.winnerId());
+            int loser = encoder.indexOf(result.loserId());
+            ratingEngine.applyResult(encoder.ratings, winner, loser);
+            chunk.add(winner, loser);
+
+            if (chunk.isFull())
+            {
+                join(inFlight);
+                inFlight = pool.submit(new AggregateTask(chunk, 0, chunk.size, encoder.size(), counters));
+                chunk = new Chunk(chunkSize);
+            }
+        }
+        join(inFlight);
+        if (chunk.size > 0)
+        {
+            pool.invoke(new AggregateTask(chunk, 0, chunk.size, encoder.size(), counters));
+        }
+
+        return encoder.toRankings(counters.merge(encoder.size()));
+    }
+
+    @Override
+    public void destroy()
+    {
+        pool.shutdown();
+    }
+
+    private static void join(ForkJoinTask<Void> task)
+    {
+        if (task != null)
+        {
+            task.join();
+        }
+    }
+
+    private static final class Encoder
+    {
+        private final double initialRating;
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<String> playerIds = new ArrayList<>();
+        private double[] ratings = new double[1024];
+
+        Encoder(double initialRating)
+        {
+            this.initialRating = initialRating;
+        }
+
+        int indexOf(String playerId)
+        {
+            Integer index = indexes.get(playerId);
+            if (index != null)
+            {
+                return index;
+            }
+
+            int added = playerIds.size();
+            if (added == ratings.length)
+            {
+                ratings = Arrays.copyOf(ratings, added * 2);
+            }
+            ratings[added] = initialRating;
+            playerIds.add(playerId);
+            indexes.put(playerId, added);
+            return added;
+        }
+
+        int size()
+        {
+            return playerIds.size();
+        }
+
+        List<PlayerRanking> toRankings(int[][] winsAndLosses)
+        {
+            int[] wins = winsAndLosses[0];
+            int[] losses = winsAndLosses[1];
+            List<PlayerRanking> rankings = new ArrayList<>(playerIds.size());
+            for (int index = 0; index < playerIds.size(); index++)
+            {
+                rankings.add(PlayerRanking.create(playerIds.get(index),
+                        wins[index] * RankingService.POINTS_PER_WIN, wins[index], losses[index], ratings[index]));
+            }
+            return rankings;
+        }
+    }
+
+    private static final class Chunk
+    {
+        private final int[] winners;
+        private final int[] losers;
+        private int size;
+
+        Chunk(int capacity)
+        {
+            this.winners = new int[capacity];
+            this.losers = new int[capacity];
+        }
+
+        void add(int winner, int loser)
+        {
+            winners[size] = winner;
+            losers[size] = loser;
+            size++;
+        }
+
+        boolean isFull()
+        {
+            return size == winners.length;
+        }
+    }
+
+    /**
+     * One pair of counter arrays per fork-join worker, so leaves count without sharing or locking.
+     */
+    private static final class WorkerCounters
+    {
+        private final Map<Integer, int[][]> byWorker = new ConcurrentHashMap<>();
+
+        int[][] forCurrentWorker(int players)
+        {
+            int worker = Thread.currentThread() instanceof ForkJoinWorkerThread forkJoinWorker
+                    ? forkJoinWorker.getPoolIndex()
+                    : -1;
+            int[][] counters = byWorker.computeIfAbsent(worker, key -> new int[][]{new int[players], new int[players]});
+            if (counters[0].length < players)
+            {
+                counters[0] = Arrays.copyOf(counters[0], players);
+                counters[1] = Arrays.copyOf(counters[1], players);
+            }
+            return counters;
+        }
+
+        int[][] merge(int players)
+        {
+            int[] wins = new int[players];
+            int[] losses = new int[players];
+            for (int[][] counters : byWorker.values())
+            {
+                for (int index = 0; index < counters[0].length; index++)
+                {
+                    wins[index] += counters[0][index];
+                    losses[index] += counters[1][index];
+                }
+            }
+            return new int[][]{wins, losses};
+        }
+    }
+
+    private static final class AggregateTask extends RecursiveAction
+    {
+        private final Chunk chunk;
+        private final int start;
+        private final int end;
+        private final int players;
+        private final WorkerCounters counters;
+
+        AggregateTask(Chunk chunk, int start, int end, int players, WorkerCounters counters)
+        {
+            this.chunk = chunk;
+            this.start = start;
+            this.end = end;
+            this.players = players;
+            this.counters = counters;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (end - start <= LEAF_SIZE)
+            {
+                int[][] workerCounters = counters.forCurrentWorker(players);
+                int[] wins = workerCounters[0];
+                int[] losses = workerCounters[1];
+                for (int i = start; i < end; i++)
+                {
+                    wins[chunk.winners[i]]++;
+                    losses[chunk.losers[i]]++;
+                }
+                return;
+            }
+
+            int middle = (start + end) >>> 1;
+            invokeAll(new AggregateTask(chunk, start, middle, players, counters),
+                    new AggregateTask(chunk, middle, end, players, counters));
+        }
+    }
+}
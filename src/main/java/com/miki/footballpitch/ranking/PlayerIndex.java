@@ -0,0 +1,74 @@
+package com.miki.footballpitch.ranking;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dense int for every player id its owner has seen, so the owner can keep array and long-keyed state instead of
+ * string-keyed maps. Each owner has its own index: an int means nothing outside it and ids stay strings at the
+ * API and database boundary. Lookups are lock-free; assigning a new int is synchronized.
+ */
+final class PlayerIndex
+{
+    static final int ABSENT = -1;
+
+    private final Map<String, Integer> indexes = new ConcurrentHashMap<>();
+    private volatile String[] playerIds = new String[16];
+
+    /**
+     * Returns the player's int, assigning the next free one on first sight.
+     */
+    int indexOf(String playerId)
+    {
+        Integer index = indexes.get(playerId);
+        return index != null ? index : add(playerId);
+    }
+
+    /**
+     * Returns the player's int, or {@link #ABSENT} without assigning one.
+     */
+    int find(String playerId)
+    {
+        return indexes.getOrDefault(playerId, ABSENT);
+    }
+
+    String playerId(int index)
+    {
+        return playerIds[index];
+    }
+
+    int size()
+    {
+        return indexes.size();
+    }
+
+    /**
+     * Packs an unordered pair into one key, lower int in the high half.
+     */
+    static long pairKey(int first, int second)
+    {
+        return first <= second
+                ? (long) first << 32 | second
+                : (long) second << 32 | first;
+    }
+
+    private synchronized int add(String playerId)
+    {
+        Integer existing = indexes.get(playerId);
+        if (existing != null)
+        {
+            return existing;
+        }
+        int index = indexes.size();
+        String[] ids = playerIds;
+        if (index == ids.length)
+        {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+        ids[index] = playerId;
+        playerIds = ids;
+        indexes.put(playerId, index);
+        return index;
+    }
+}
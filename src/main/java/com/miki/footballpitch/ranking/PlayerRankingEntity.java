@@ -0,0 +1,105 @@
+package com.miki.footballpitch.ranking;
+
+import com.miki.footballpitch.ranking.model.PlayerRanking;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.util.Objects;
+
+@Entity
+@Table(name = "player_ranking", indexes = {
+        @Index(name = "idx_player_ranking_points", columnList = "points DESC, player_id")
+})
+@NoArgsConstructor
+@Getter
+class PlayerRankingEntity implements Persistable<String>
+{
+
+    @Id
+    @Column(name = "player_id", nullable = false)
+    private String playerId;
+
+    @Column(name = "points", nullable = false)
+    private int points;
+
+    @Column(name = "wins", nullable = false)
+    private int wins;
+
+    @Column(name = "losses", nullable = false)
+    private int losses;
+
+    @Column(name = "rating", nullable = false)
+    private double rating;
+
+    @Transient
+    private boolean created;
+
+    PlayerRankingEntity(String playerId, int points, int wins, int losses, double rating)
+    {
+        this.playerId = playerId;
+        this.points = points;
+        this.wins = wins;
+        this.losses = losses;
+        this.rating = rating;
+        this.created = true;
+    }
+
+    PlayerRankingEntity(PlayerRanking ranking)
+    {
+        this(ranking.playerId(), ranking.points(), ranking.wins(), ranking.losses(), ranking.rating());
+    }
+
+    void recordWin(int pointsPerWin, double newRating)
+    {
+        this.wins++;
+        this.points += pointsPerWin;
+        this.rating = newRating;
+    }
+
+    void recordLoss(double newRating)
+    {
+        this.losses++;
+        this.rating = newRating;
+    }
+
+    PlayerRanking mapToDto()
+    {
+        return PlayerRanking.create(playerId, points, wins, losses, rating);
+    }
+
+    @Override
+    public String getId()
+    {
+        return playerId;
+    }
+
+    @Override
+    public boolean isNew()
+    {
+        return created;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted()
+    {
+        this.created = false;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PlayerRankingEntity that = (PlayerRankingEntity) o;
+        return Objects.equals(playerId, that.playerId);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(playerId);
+    }
+}
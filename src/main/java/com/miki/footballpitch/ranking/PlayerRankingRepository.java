@@ -0,0 +1,20 @@
+package com.miki.footballpitch.ranking;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+interface PlayerRankingRepository extends JpaRepository<PlayerRankingEntity, String>
+{
+
+    List<PlayerRankingEntity> findAllByOrderByPointsDescPlayerIdAsc();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from PlayerRankingEntity r where r.playerId in :playerIds order by r.playerId")
+    List<PlayerRankingEntity> findAllForUpdate(@Param("playerIds") Collection<String> playerIds);
+}
@@ -0,0 +1,122 @@
+package com.miki.footballpitch.ranking;
+
+import com.miki.footballpitch.ranking.model.Match;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Applies match results to player_ranking inside the caller's transaction. The rows of every player involved
+ * are locked once, in player id order, and written back once however many matches are applied. Rows for new
+ * players are inserted and flushed before any result is applied, so a transaction that lost the race to create
+ * one fails straight away with a {@link DuplicateKeyException} and can be retried with
+ * {@link #retryOnFirstInsertRace}.
+ */
+@Component
+@RequiredArgsConstructor
+class PlayerRankingUpdater
+{
+    static final int MAX_ATTEMPTS = 3;
+
+    private final PlayerRankingRepository playerRankingRepository;
+    private final RatingEngine ratingEngine;
+
+    void apply(List<Match> matches)
+    {
+        TreeSet<String> playerIds = new TreeSet<>();
+        matches.forEach(match ->
+        {
+            playerIds.add(match.player1Id());
+            playerIds.add(match.player2Id());
+        });
+
+        Map<String, PlayerRankingEntity> rankings = playerRankingRepository.findAllForUpdate(playerIds)
+                .stream()
+                .collect(Collectors.toMap(PlayerRankingEntity::getPlayerId, Function.identity()));
+        List<PlayerRankingEntity> newPlayers = playerIds.stream()
+                .filter(playerId -> !rankings.containsKey(playerId))
+                .map(this::newPlayerRanking)
+                .toList();
+        if (!newPlayers.isEmpty())
+        {
+            insert(newPlayers).forEach(ranking -> rankings.put(ranking.getPlayerId(), ranking));
+        }
+
+        double[] ratings = new double[2];
+        for (Match match : matches)
+        {
+            String loserId = match.winnerId().equals(match.player1Id()) ? match.player2Id() : match.player1Id();
+            PlayerRankingEntity winner = rankings.get(match.winnerId());
+            PlayerRankingEntity loser = rankings.get(loserId);
+
+            ratings[0] = winner.getRating();
+            ratings[1] = loser.getRating();
+            ratingEngine.applyResult(ratings, 0, 1);
+            winner.recordWin(RankingService.POINTS_PER_WIN, ratings[0]);
+            loser.recordLoss(ratings[1]);
+        }
+        playerRankingRepository.saveAll(rankings.values());
+    }
+
+    /**
+     * Runs a transaction that applies results, and runs it again if it lost the race to insert a new player's
+     * first row. Row locks cannot cover a row that does not exist yet, so two first matches for the same player
+     * can both insert it and the later insert fails on the primary key; on the retry the row exists and is
+     * locked like any other. Each attempt can lose at most one race per new player, so attempts are capped at
+     * {@link #MAX_ATTEMPTS}; any other integrity violation is rethrown. Must be called outside a transaction, so
+     * the failed one has rolled back.
+     */
+    static <T> T retryOnFirstInsertRace(Supplier<T> transaction)
+    {
+        for (int attempt = 1; ; attempt++)
+        {
+            try
+            {
+                return transaction.get();
+            }
+            catch (DuplicateKeyException e)
+            {
+                if (attempt == MAX_ATTEMPTS)
+                {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Inserts the new players' rows. player_ranking has no unique key besides player_id, so a unique violation
+     * here can only mean another transaction inserted one of these players first.
+     */
+    private List<PlayerRankingEntity> insert(List<PlayerRankingEntity> newPlayers)
+    {
+        try
+        {
+            return playerRankingRepository.saveAllAndFlush(newPlayers);
+        }
+        catch (DataIntegrityViolationException e)
+        {
+            if (e.getCause() instanceof ConstraintViolationException violation
+                    && violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE)
+            {
+                throw new DuplicateKeyException("A concurrent transaction inserted a ranking row for one of "
+                        + newPlayers.stream().map(PlayerRankingEntity::getPlayerId).toList(), e);
+            }
+            throw e;
+        }
+    }
+
+    private PlayerRankingEntity newPlayerRanking(String playerId)
+    {
+        return new PlayerRankingEntity(playerId, 0, 0, 0, ratingEngine.initialRating());
+    }
+}
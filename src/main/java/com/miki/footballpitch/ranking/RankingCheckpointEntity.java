@@ -0,0 +1,42 @@
+package com.miki.footballpitch.ranking;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * The full ranking table as it stood after every match this checkpoint or an earlier one absorbed: those dated up
+ * to {@link #asOf} that had committed when it was taken.
+ */
+@Entity
+@Table(name = "ranking_checkpoint", indexes = {
+        @Index(name = "idx_ranking_checkpoint_as_of", columnList = "as_of")
+})
+@NoArgsConstructor
+@Getter
+class RankingCheckpointEntity
+{
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ranking_checkpoint_seq")
+    @SequenceGenerator(name = "ranking_checkpoint_seq", sequenceName = "ranking_checkpoint_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "as_of", nullable = false)
+    private LocalDateTime asOf;
+
+    @Column(name = "players", nullable = false)
+    private int players;
+
+    RankingCheckpointEntity(LocalDateTime asOf)
+    {
+        this.asOf = asOf;
+    }
+
+    void recordPlayers(int players)
+    {
+        this.players = players;
+    }
+}
@@ -0,0 +1,50 @@
+package com.miki.footballpitch.ranking;
+
+import com.miki.footballpitch.ranking.model.PlayerRanking;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "ranking_checkpoint_entry", indexes = {
+        @Index(name = "idx_ranking_checkpoint_entry_checkpoint", columnList = "checkpoint_id")
+})
+@NoArgsConstructor
+@Getter
+class RankingCheckpointEntryEntity
+{
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ranking_checkpoint_entry_seq")
+    @SequenceGenerator(name = "ranking_checkpoint_entry_seq", sequenceName = "ranking_checkpoint_entry_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "checkpoint_id", nullable = false)
+    private Long checkpointId;
+
+    @Column(name = "player_id", nullable = false)
+    private String playerId;
+
+    @Column(name = "wins", nullable = false)
+    private int wins;
+
+    @Column(name = "losses", nullable = false)
+    private int losses;
+
+    @Column(name = "rating", nullable = false)
+    private double rating;
+
+    RankingCheckpointEntryEntity(Long checkpointId, PlayerRanking ranking)
+    {
+        this.checkpointId = checkpointId;
+        this.playerId = ranking.playerId();
+        this.wins = ranking.wins();
+        this.losses = ranking.losses();
+        this.rating = ranking.rating();
+    }
+
+    PlayerRanking mapToDto()
+    {
+        return PlayerRanking.create(playerId, wins * RankingService.POINTS_PER_WIN, wins, losses, rating);
+    }
+}
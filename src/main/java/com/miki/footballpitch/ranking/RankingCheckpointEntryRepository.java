@@ -0,0 +1,19 @@
+package com.miki.footballpitch.ranking;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+interface RankingCheckpointEntryRepository extends JpaRepository<RankingCheckpointEntryEntity, Long>
+{
+
+    List<RankingCheckpointEntryEntity> findByCheckpointId(Long checkpointId);
+
+    @Modifying
+    @Query("delete from RankingCheckpointEntryEntity e where e.checkpointId in :checkpointIds")
+    int deleteByCheckpointIds(@Param("checkpointIds") Collection<Long> checkpointIds);
+}
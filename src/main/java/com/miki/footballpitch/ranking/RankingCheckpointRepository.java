@@ -0,0 +1,17 @@
+package com.miki.footballpitch.ranking;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+interface RankingCheckpointRepository extends JpaRepository<RankingCheckpointEntity, Long>
+{
+
+    Optional<RankingCheckpointEntity> findFirstByAsOfLessThanEqualOrderByAsOfDesc(LocalDateTime asOf);
+
+    Optional<RankingCheckpointEntity> findFirstByOrderByAsOfDesc();
+
+    List<RankingCheckpointEntity> findByAsOfLessThanOrderByAsOf(LocalDateTime cutoff);
+}
@@ -1,38 +1,105 @@
 package com.miki.footballpitch.ranking;
 
+import com.miki.footballpitch.common.IdempotencyCache;
+import com.miki.footballpitch.ranking.model.HeadToHead;
 import com.miki.footballpitch.ranking.model.Match;
+import com.miki.footballpitch.ranking.model.MatchBatchRequest;
+import com.miki.footballpitch.ranking.model.MatchBatchResponse;
+import com.miki.footballpitch.ranking.model.MatchPage;
 import com.miki.footballpitch.ranking.model.MatchRequest;
 import com.miki.footballpitch.ranking.model.PlayerRanking;
 import com.miki.footballpitch.ranking.model.RankingFacade;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import org.springframework.http.HttpStatus;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api")
+@Validated
 class RankingController
 {
 
     private final RankingFacade rankingFacade;
+    private final IdempotencyCache idempotencyCache;
 
-    public RankingController(RankingFacade rankingFacade)
+    public RankingController(RankingFacade rankingFacade, IdempotencyCache idempotencyCache)
     {
         this.rankingFacade = rankingFacade;
+        this.idempotencyCache = idempotencyCache;
     }
 
     @PostMapping("/matches")
     @ResponseStatus(HttpStatus.CREATED)
-    public Match submitMatchResult(@Valid @RequestBody MatchRequest matchRequest)
+    public Match submitMatchResult(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @Valid @RequestBody MatchRequest matchRequest)
     {
-        return rankingFacade.submitMatchResult(matchRequest);
+        return idempotencyCache.execute("POST /api/matches", idempotencyKey, matchRequest,
+                () -> rankingFacade.submitMatchResult(matchRequest));
+    }
+
+    @PostMapping("/matches/batch")
+    public MatchBatchResponse submitMatchResults(@Valid @RequestBody MatchBatchRequest request)
+    {
+        return rankingFacade.submitMatchResults(request.matches());
     }
 
     @GetMapping("/ranking")
-    public List<PlayerRanking> getRankings()
+    public List<PlayerRanking> getRankings(
+            @RequestParam(defaultValue = "0")
+            @Min(value = 0, message = "Offset cannot be negative")
+            int offset,
+
+            @RequestParam(defaultValue = "50")
+            @Min(value = 1, message = "Limit must be at least 1")
+            @Max(value = 500, message = "Limit cannot exceed 500")
+            int limit,
+
+            @RequestParam(required = false)
+            LocalDateTime asOf,
+
+            WebRequest webRequest
+    )
+    {
+        if (asOf != null)
+        {
+            return rankingFacade.getRankingsAsOf(asOf, offset, limit);
+        }
+        if (webRequest.checkNotModified(rankingFacade.getRankingsETag()))
+        {
+            return null;
+        }
+        return rankingFacade.getRankings(offset, limit);
+    }
+
+    @GetMapping("/ranking/top/{n}")
+    public List<PlayerRanking> getTopRankings(
+            @PathVariable
+            @Min(value = 1, message = "N must be at least 1")
+            @Max(value = 500, message = "N cannot exceed 500")
+            int n,
+
+            WebRequest webRequest
+    )
+    {
+        if (webRequest.checkNotModified(rankingFacade.getRankingsETag()))
+        {
+            return null;
+        }
+        return rankingFacade.getRankings(0, n);
+    }
+
+    @PostMapping("/ranking/rebuild")
+    public int rebuildRankings()
     {
-        return rankingFacade.getRankings();
+        return rankingFacade.rebuildRankings();
     }
 
     @GetMapping("/ranking/{playerId}")
@@ -41,9 +108,57 @@ class RankingController
         return rankingFacade.getPlayerRanking(playerId);
     }
 
+    @GetMapping("/ranking/{playerId}/around")
+    public List<PlayerRanking> getRankingsAround(
+            @PathVariable
+            String playerId,
+
+            @RequestParam(defaultValue = "5")
+            @Min(value = 0, message = "Radius cannot be negative")
+            @Max(value = 100, message = "Radius cannot exceed 100")
+            int radius
+    )
+    {
+        return rankingFacade.getRankingsAround(playerId, radius);
+    }
+
+    @GetMapping("/ranking/{playerId}/vs/{opponentId}")
+    public HeadToHead getHeadToHead(
+            @PathVariable
+            String playerId,
+
+            @PathVariable
+            String opponentId,
+
+            @RequestParam(defaultValue = "10")
+            @Min(value = 0, message = "Last cannot be negative")
+            @Max(value = HeadToHeadCache.RECENT_MATCHES, message = "Last cannot exceed 20")
+            int last
+    )
+    {
+        return rankingFacade.getHeadToHead(playerId, opponentId, last);
+    }
+
     @GetMapping("/players/{playerId}/matches")
-    public List<Match> getPlayerMatches(@PathVariable String playerId)
+    public MatchPage getPlayerMatches(
+            @PathVariable
+            String playerId,
+
+            @RequestParam(required = false)
+            LocalDateTime from,
+
+            @RequestParam(required = false)
+            LocalDateTime to,
+
+            @RequestParam(required = false)
+            String cursor,
+
+            @RequestParam(defaultValue = "50")
+            @Min(value = 1, message = "Page size must be at least 1")
+            @Max(value = 500, message = "Page size cannot exceed 500")
+            int size
+    )
     {
-        return rankingFacade.getPlayerMatches(playerId);
+        return rankingFacade.getPlayerMatches(playerId, from, to, cursor, size);
     }
 }
\ No newline at end of file
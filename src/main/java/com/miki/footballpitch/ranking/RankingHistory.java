@@ -0,0 +1,150 @@
+package com.miki.footballpitch.ranking;
+
+import com.miki.footballpitch.ranking.model.PlayerRanking;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Answers "what was the table at time X" from the newest checkpoint at or before X plus a replay of the matches
+ * it had not absorbed, so the work is bounded by the checkpoint interval rather than by the whole match history.
+ * A checkpoint absorbs every committed match dated up to its asOf that no earlier one has, and stamps those matches
+ * with its id. A match whose transaction commits after the checkpoint its date falls under is therefore picked up
+ * by the next one instead of being lost, however long it took to commit. Checkpoints stop a grace period short of
+ * now so that such late matches stay rare. Checkpoints older than the hourly retention are thinned to the last
+ * one of each day, so storage grows with players times days rather than players times hours.
+ */
+@Slf4j
+@Component
+class RankingHistory
+{
+    private final RankingRepository rankingRepository;
+    private final RankingCheckpointRepository checkpointRepository;
+    private final RankingCheckpointEntryRepository checkpointEntryRepository;
+    private final RatingReplay ratingReplay;
+    private final Duration grace;
+    private final Duration hourlyRetention;
+
+    RankingHistory(RankingRepository rankingRepository,
+                   RankingCheckpointRepository checkpointRepository,
+                   RankingCheckpointEntryRepository checkpointEntryRepository,
+                   RatingReplay ratingReplay,
+                   @Value("${ranking.checkpoint.grace:PT1M}") Duration grace,
+                   @Value("${ranking.checkpoint.hourly-retention:P2D}") Duration hourlyRetention)
+    {
+        this.rankingRepository = rankingRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.checkpointEntryRepository = checkpointEntryRepository;
+        this.ratingReplay = ratingReplay;
+        this.grace = grace;
+        this.hourlyRetention = hourlyRetention;
+    }
+
+    @Transactional(readOnly = true)
+    public List<PlayerRanking> rankingsAsOf(LocalDateTime asOf, int offset, int limit)
+    {
+        RatingReplay.ReplayState state = ratingReplay.newState();
+        Optional<RankingCheckpointEntity> checkpoint =
+                checkpointRepository.findFirstByAsOfLessThanEqualOrderByAsOfDesc(asOf);
+        checkpoint.ifPresent(found -> seed(state, found));
+
+        try (Stream<MatchResult> results = checkpoint
+                .map(found -> Stream.concat(
+                        rankingRepository.streamLateResults(found.getId(), found.getAsOf()),
+                        rankingRepository.streamResultsBetween(found.getAsOf(), asOf)))
+                .orElseGet(() -> rankingRepository.streamResultsUpTo(asOf)))
+        {
+            state.apply(results);
+        }
+
+        List<PlayerRanking> rankings = state.toRankings();
+        rankings.sort(RankingTree.ORDER);
+        int end = (int) Math.min(rankings.size(), (long) offset + limit);
+        List<PlayerRanking> page = new ArrayList<>(Math.max(0, end - offset));
+        for (int index = offset; index < end; index++)
+        {
+            page.add(rankings.get(index).withRank(index + 1));
+        }
+        return page;
+    }
+
+    /**
+     * Absorbs the matches committed since the latest checkpoint: first those dated under it that committed too
+     * late for it, then those dated up to the new asOf. Both are replayed on top of the latest checkpoint.
+     */
+    @Transactional
+    @Scheduled(fixedDelayString = "${ranking.checkpoint.interval:PT1H}")
+    public void takeCheckpoint()
+    {
+        LocalDateTime asOf = LocalDateTime.now().minus(grace);
+        Optional<RankingCheckpointEntity> latest = checkpointRepository.findFirstByOrderByAsOfDesc();
+        if (latest.isPresent() && !latest.get().getAsOf().isBefore(asOf))
+        {
+            return;
+        }
+        if (latest.isPresent() && rankingRepository.countByCheckpointIdIsNullAndMatchDateLessThanEqual(asOf) == 0)
+        {
+            return;
+        }
+
+        RankingCheckpointEntity checkpoint = checkpointRepository.save(new RankingCheckpointEntity(asOf));
+        int late = latest.map(previous -> rankingRepository.absorbLateMatches(checkpoint.getId(), previous.getAsOf()))
+                .orElse(0);
+        rankingRepository.absorbMatches(checkpoint.getId(), asOf);
+
+        RatingReplay.ReplayState state = ratingReplay.newState();
+        latest.ifPresent(previous -> seed(state, previous));
+        int applied;
+        try (Stream<MatchResult> results = rankingRepository.streamResultsOfCheckpoint(checkpoint.getId()))
+        {
+            applied = state.apply(results);
+        }
+
+        List<PlayerRanking> rankings = state.toRankings();
+        checkpoint.recordPlayers(rankings.size());
+        checkpointEntryRepository.saveAll(rankings.stream()
+                .map(ranking -> new RankingCheckpointEntryEntity(checkpoint.getId(), ranking))
+                .toList());
+        log.info("Took ranking checkpoint as of {} with {} players after {} new matches, {} of them committed late",
+                asOf, rankings.size(), applied, late);
+        thinCheckpointsBefore(asOf.minus(hourlyRetention));
+    }
+
+    /**
+     * Deletes every checkpoint before the cutoff except the last one of its day.
+     */
+    private void thinCheckpointsBefore(LocalDateTime cutoff)
+    {
+        List<RankingCheckpointEntity> expired = checkpointRepository.findByAsOfLessThanOrderByAsOf(cutoff);
+        Map<LocalDate, RankingCheckpointEntity> lastOfDay = new HashMap<>();
+        expired.forEach(checkpoint -> lastOfDay.put(checkpoint.getAsOf().toLocalDate(), checkpoint));
+
+        List<Long> thinned = expired.stream()
+                .filter(checkpoint -> lastOfDay.get(checkpoint.getAsOf().toLocalDate()) != checkpoint)
+                .map(RankingCheckpointEntity::getId)
+                .toList();
+        if (!thinned.isEmpty())
+        {
+            checkpointEntryRepository.deleteByCheckpointIds(thinned);
+            checkpointRepository.deleteAllByIdInBatch(thinned);
+        }
+    }
+
+    private void seed(RatingReplay.ReplayState state, RankingCheckpointEntity checkpoint)
+    {
+        checkpointEntryRepository.findByCheckpointId(checkpoint.getId())
+                .forEach(entry -> state.seed(entry.mapToDto()));
+    }
+}
@@ -1,16 +1,127 @@
 package com.miki.footballpitch.ranking;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 interface RankingRepository extends JpaRepository<MatchEntity, Long>
 {
 
-    List<MatchEntity> findByPlayer1IdOrPlayer2Id(String player1Id, String player2Id);
+    @Query("""
+            select m from MatchEntity m
+            where m.player1Id = :playerId and m.matchDate >= :from
+              and (m.matchDate < :beforeMatchDate or (m.matchDate = :beforeMatchDate and m.id < :beforeId))
+            order by m.matchDate desc, m.id desc
+            """)
+    List<MatchEntity> findPlayer1Page(@Param("playerId") String playerId,
+                                      @Param("from") LocalDateTime from,
+                                      @Param("beforeMatchDate") LocalDateTime beforeMatchDate,
+                                      @Param("beforeId") long beforeId,
+                                      Limit limit);
+
+    @Query("""
+            select m from MatchEntity m
+            where m.player2Id = :playerId and m.matchDate >= :from
+              and (m.matchDate < :beforeMatchDate or (m.matchDate = :beforeMatchDate and m.id < :beforeId))
+            order by m.matchDate desc, m.id desc
+            """)
+    List<MatchEntity> findPlayer2Page(@Param("playerId") String playerId,
+                                      @Param("from") LocalDateTime from,
+                                      @Param("beforeMatchDate") LocalDateTime beforeMatchDate,
+                                      @Param("beforeId") long beforeId,
+                                      Limit limit);
 
     List<MatchEntity> findByWinnerId(String winnerId);
 
-    List<MatchEntity> findByPlayer1IdAndPlayer2IdOrPlayer1IdAndPlayer2Id(
-            String player1Id1, String player2Id1, String player1Id2, String player2Id2);
-}
\ No newline at end of file
+    @Query("""
+            select new com.miki.footballpitch.ranking.PairWins(
+                coalesce(sum(case when m.winnerId = :first then 1 else 0 end), 0),
+                coalesce(sum(case when m.winnerId = :second then 1 else 0 end), 0))
+            from MatchEntity m
+            where (m.player1Id = :first and m.player2Id = :second)
+               or (m.player1Id = :second and m.player2Id = :first)
+            """)
+    PairWins countPairWins(@Param("first") String first, @Param("second") String second);
+
+    @Query("""
+            select m from MatchEntity m
+            where (m.player1Id = :first and m.player2Id = :second)
+               or (m.player1Id = :second and m.player2Id = :first)
+            order by m.id desc
+            """)
+    List<MatchEntity> findRecentBetween(@Param("first") String first, @Param("second") String second, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.miki.footballpitch.ranking.MatchResult(m.player1Id, m.player2Id, m.winnerId)
+            from MatchEntity m
+            order by m.matchDate, m.id
+            """)
+    Stream<MatchResult> streamResultsInMatchOrder();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.miki.footballpitch.ranking.MatchResult(m.player1Id, m.player2Id, m.winnerId)
+            from MatchEntity m
+            where m.matchDate <= :to
+            order by m.matchDate, m.id
+            """)
+    Stream<MatchResult> streamResultsUpTo(@Param("to") LocalDateTime to);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.miki.footballpitch.ranking.MatchResult(m.player1Id, m.player2Id, m.winnerId)
+            from MatchEntity m
+            where m.matchDate > :from and m.matchDate <= :to
+            order by m.matchDate, m.id
+            """)
+    Stream<MatchResult> streamResultsBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Matches dated up to a checkpoint's asOf that the checkpoint did not absorb because they committed after it,
+     * whether a later checkpoint has absorbed them since or none has yet.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.miki.footballpitch.ranking.MatchResult(m.player1Id, m.player2Id, m.winnerId)
+            from MatchEntity m
+            where m.matchDate <= :asOf
+              and (m.checkpointId is null or (m.committedLate = true and m.checkpointId > :checkpointId))
+            order by m.matchDate, m.id
+            """)
+    Stream<MatchResult> streamLateResults(@Param("checkpointId") long checkpointId, @Param("asOf") LocalDateTime asOf);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.miki.footballpitch.ranking.MatchResult(m.player1Id, m.player2Id, m.winnerId)
+            from MatchEntity m
+            where m.checkpointId = :checkpointId
+            order by m.matchDate, m.id
+            """)
+    Stream<MatchResult> streamResultsOfCheckpoint(@Param("checkpointId") long checkpointId);
+
+    long countByCheckpointIdIsNullAndMatchDateLessThanEqual(LocalDateTime asOf);
+
+    @Modifying
+    @Query("""
+            update MatchEntity m set m.checkpointId = :checkpointId, m.committedLate = true
+            where m.checkpointId is null and m.matchDate <= :previousAsOf
+            """)
+    int absorbLateMatches(@Param("checkpointId") long checkpointId, @Param("previousAsOf") LocalDateTime previousAsOf);
+
+    @Modifying
+    @Query("""
+            update MatchEntity m set m.checkpointId = :checkpointId
+            where m.checkpointId is null and m.matchDate <= :asOf
+            """)
+    int absorbMatches(@Param("checkpointId") long checkpointId, @Param("asOf") LocalDateTime asOf);
+}
@@ -1,110 +1,189 @@
 package com.miki.footballpitch.ranking;
 
 import com.miki.footballpitch.ranking.model.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Stream;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
 
 @Service
 class RankingService implements RankingFacade
 {
 
-    private final RankingRepository rankingRepository;
+    static final int POINTS_PER_WIN = 3;
 
-    public RankingService(RankingRepository rankingRepository)
+    private final RankingRepository rankingRepository;
+    private final PlayerRankingRepository playerRankingRepository;
+    private final RatingEngine ratingEngine;
+    private final ParallelRankingRebuild parallelRankingRebuild;
+    private final PlayerRankingUpdater playerRankingUpdater;
+    private final MatchBatchProcessor matchBatchProcessor;
+    private final Leaderboard leaderboard;
+    private final HeadToHeadCache headToHeadCache;
+    private final RankingHistory rankingHistory;
+    private final MatchHistory matchHistory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionOperations transactionOperations;
+
+    /**
+     * Submissions share the read side and hold it through commit and the after-commit leaderboard update; a
+     * rebuild takes the write side, so no match commits between reading the match log and loading the result.
+     */
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    public RankingService(RankingRepository rankingRepository,
+                          PlayerRankingRepository playerRankingRepository,
+                          RatingEngine ratingEngine,
+                          ParallelRankingRebuild parallelRankingRebuild,
+                          PlayerRankingUpdater playerRankingUpdater,
+                          MatchBatchProcessor matchBatchProcessor,
+                          Leaderboard leaderboard,
+                          HeadToHeadCache headToHeadCache,
+                          RankingHistory rankingHistory,
+                          MatchHistory matchHistory,
+                          ApplicationEventPublisher eventPublisher,
+                          TransactionOperations transactionOperations)
     {
         this.rankingRepository = rankingRepository;
+        this.playerRankingRepository = playerRankingRepository;
+        this.ratingEngine = ratingEngine;
+        this.parallelRankingRebuild = parallelRankingRebuild;
+        this.playerRankingUpdater = playerRankingUpdater;
+        this.matchBatchProcessor = matchBatchProcessor;
+        this.leaderboard = leaderboard;
+        this.headToHeadCache = headToHeadCache;
+        this.rankingHistory = rankingHistory;
+        this.matchHistory = matchHistory;
+        this.eventPublisher = eventPublisher;
+        this.transactionOperations = transactionOperations;
     }
 
     @Override
-    @Transactional
     public Match submitMatchResult(MatchRequest matchRequest)
     {
         validateMatchRequest(matchRequest);
+        return whileNotRebuilding(() -> PlayerRankingUpdater.retryOnFirstInsertRace(
+                () -> transactionOperations.execute(status -> recordMatch(matchRequest))));
+    }
 
-        MatchEntity matchEntity = new MatchEntity(
-                matchRequest.player1Id(),
-                matchRequest.player2Id(),
-                matchRequest.winnerId()
-        );
+    @Override
+    public MatchBatchResponse submitMatchResults(List<MatchRequest> matchRequests)
+    {
+        return whileNotRebuilding(
+                () -> PlayerRankingUpdater.retryOnFirstInsertRace(() -> matchBatchProcessor.process(matchRequests)));
+    }
 
-        MatchEntity savedMatch = rankingRepository.save(matchEntity);
-        return toMatch(savedMatch);
+    @Override
+    public List<PlayerRanking> getRankings(int offset, int limit)
+    {
+        return leaderboard.range(offset, limit);
     }
 
     @Override
-    public List<PlayerRanking> getRankings()
+    public String getRankingsETag()
     {
-        List<String> allPlayerIds = getAllPlayerIds();
+        return leaderboard.eTag();
+    }
 
-        return allPlayerIds.stream()
-                .map(this::calculatePlayerRanking)
-                .sorted((r1, r2) -> Integer.compare(r2.points(), r1.points()))
-                .toList();
+    @Override
+    public List<PlayerRanking> getRankingsAsOf(LocalDateTime asOf, int offset, int limit)
+    {
+        return rankingHistory.rankingsAsOf(asOf, offset, limit);
     }
 
     @Override
     public PlayerRanking getPlayerRanking(String playerId)
     {
-        return calculatePlayerRanking(playerId);
+        return leaderboard.find(playerId).orElseGet(() -> PlayerRanking.create(playerId, 0, 0, 0, ratingEngine.initialRating()));
     }
 
     @Override
-    public List<Match> getPlayerMatches(String playerId)
+    public List<PlayerRanking> getRankingsAround(String playerId, int radius)
     {
-        return rankingRepository.findByPlayer1IdOrPlayer2Id(playerId, playerId)
-                .stream()
-                .map(this::toMatch)
-                .toList();
+        return leaderboard.around(playerId, radius);
     }
 
-    private void validateMatchRequest(MatchRequest matchRequest)
+    @Override
+    public HeadToHead getHeadToHead(String playerId, String opponentId, int last)
     {
-        if (matchRequest.player1Id().equals(matchRequest.player2Id()))
+        if (playerId.equals(opponentId))
         {
             throw new IllegalArgumentException("A player cannot play against themselves");
         }
+        return headToHeadCache.get(playerId, opponentId, last);
+    }
 
-        if (!matchRequest.winnerId().equals(matchRequest.player1Id()) &&
-                !matchRequest.winnerId().equals(matchRequest.player2Id()))
+    @Override
+    public MatchPage getPlayerMatches(String playerId, LocalDateTime from, LocalDateTime to, String cursor, int size)
+    {
+        return matchHistory.page(playerId, from, to, cursor, size);
+    }
+
+    @Override
+    public int rebuildRankings()
+    {
+        rebuildLock.writeLock().lock();
+        try
         {
-            throw new IllegalArgumentException("Winner must be one of the participating players");
+            List<PlayerRanking> rankings = transactionOperations.execute(status ->
+            {
+                List<PlayerRanking> rebuilt = parallelRankingRebuild.rebuild();
+                playerRankingRepository.deleteAllInBatch();
+                playerRankingRepository.saveAll(rebuilt.stream().map(PlayerRankingEntity::new).toList());
+                return rebuilt;
+            });
+            leaderboard.load(rankings);
+            return rankings.size();
+        }
+        finally
+        {
+            rebuildLock.writeLock().unlock();
         }
     }
 
-    private PlayerRanking calculatePlayerRanking(String playerId)
+    private <T> T whileNotRebuilding(Supplier<T> submission)
     {
-        List<MatchEntity> playerMatches = rankingRepository.findByPlayer1IdOrPlayer2Id(playerId, playerId);
-
-        int wins = (int) playerMatches.stream()
-                .filter(match -> match.getWinnerId().equals(playerId))
-                .count();
-
-        int losses = playerMatches.size() - wins;
-        int points = wins * 3;
-
-        return PlayerRanking.create(playerId, points, wins, losses);
+        rebuildLock.readLock().lock();
+        try
+        {
+            return submission.get();
+        }
+        finally
+        {
+            rebuildLock.readLock().unlock();
+        }
     }
 
-    private List<String> getAllPlayerIds()
+    private Match recordMatch(MatchRequest matchRequest)
     {
-        return rankingRepository.findAll()
-                .stream()
-                .flatMap(match -> Stream.of(match.getPlayer1Id(), match.getPlayer2Id()))
-                .distinct()
-                .toList();
+        MatchEntity matchEntity = new MatchEntity(
+                matchRequest.player1Id(),
+                matchRequest.player2Id(),
+                matchRequest.winnerId()
+        );
+
+        Match match = rankingRepository.save(matchEntity).mapToDto();
+        playerRankingUpdater.apply(List.of(match));
+        eventPublisher.publishEvent(MatchRecorded.of(match));
+        return match;
     }
 
-    private Match toMatch(MatchEntity entity)
+    static void validateMatchRequest(MatchRequest matchRequest)
     {
-        return new Match(
-                entity.getId(),
-                entity.getPlayer1Id(),
-                entity.getPlayer2Id(),
-                entity.getWinnerId(),
-                entity.getMatchDate()
-        );
+        if (matchRequest.player1Id().equals(matchRequest.player2Id()))
+        {
+            throw new IllegalArgumentException("A player cannot play against themselves");
+        }
+
+        if (!matchRequest.winnerId().equals(matchRequest.player1Id()) &&
+                !matchRequest.winnerId().equals(matchRequest.player2Id()))
+        {
+            throw new IllegalArgumentException("Winner must be one of the participating players");
+        }
     }
 }
\ No newline at end of file
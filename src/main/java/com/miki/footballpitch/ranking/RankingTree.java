@@ -0,0 +1,197 @@
+package com.miki.footballpitch.ranking;
+
+import com.miki.footballpitch.ranking.model.PlayerRanking;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Treap of rankings ordered by points descending, then player id, with subtree sizes so the position of a
+ * ranking is found in O(log n) and a page of k rankings in O(log n + k). Not thread-safe; {@link Leaderboard}
+ * guards it.
+ */
+class RankingTree
+{
+    static final Comparator<PlayerRanking> ORDER = Comparator.comparingInt(PlayerRanking::points).reversed()
+            .thenComparing(PlayerRanking::playerId);
+
+    private final SplittableRandom random = new SplittableRandom();
+    private Node root;
+
+    void insert(PlayerRanking ranking)
+    {
+        Node[] parts = split(root, ranking);
+        root = merge(merge(parts[0], new Node(ranking, random.nextInt())), parts[1]);
+    }
+
+    void remove(PlayerRanking ranking)
+    {
+        Node[] parts = split(root, ranking);
+        Node[] first = splitAt(parts[1], 1);
+        Node rest = first[0] != null && ORDER.compare(first[0].ranking, ranking) == 0
+                ? first[1]
+                : merge(first[0], first[1]);
+        root = merge(parts[0], rest);
+    }
+
+    /**
+     * Number of rankings ordered before the given one.
+     */
+    int indexOf(PlayerRanking ranking)
+    {
+        int index = 0;
+        Node node = root;
+        while (node != null)
+        {
+            if (ORDER.compare(ranking, node.ranking) <= 0)
+            {
+                node = node.left;
+            }
+            else
+            {
+                index += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Rankings at positions offset to offset + limit - 1, found with one descent and an in-order walk.
+     */
+    List<PlayerRanking> range(int offset, int limit)
+    {
+        Deque<Node> pending = new ArrayDeque<>();
+        Node node = root;
+        int index = offset;
+        while (node != null)
+        {
+            int leftSize = size(node.left);
+            if (index < leftSize)
+            {
+                pending.push(node);
+                node = node.left;
+            }
+            else if (index == leftSize)
+            {
+                pending.push(node);
+                break;
+            }
+            else
+            {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+
+        List<PlayerRanking> rankings = new ArrayList<>(Math.min(limit, size()));
+        while (!pending.isEmpty() && rankings.size() < limit)
+        {
+            Node current = pending.pop();
+            rankings.add(current.ranking);
+            for (Node next = current.right; next != null; next = next.left)
+            {
+                pending.push(next);
+            }
+        }
+        return rankings;
+    }
+
+    int size()
+    {
+        return size(root);
+    }
+
+    void clear()
+    {
+        root = null;
+    }
+
+    private static Node[] split(Node node, PlayerRanking key)
+    {
+        if (node == null)
+        {
+            return new Node[]{null, null};
+        }
+        if (ORDER.compare(node.ranking, key) < 0)
+        {
+            Node[] parts = split(node.right, key);
+            node.right = parts[0];
+            node.update();
+            return new Node[]{node, parts[1]};
+        }
+        Node[] parts = split(node.left, key);
+        node.left = parts[1];
+        node.update();
+        return new Node[]{parts[0], node};
+    }
+
+    private static Node[] splitAt(Node node, int count)
+    {
+        if (node == null)
+        {
+            return new Node[]{null, null};
+        }
+        if (size(node.left) >= count)
+        {
+            Node[] parts = splitAt(node.left, count);
+            node.left = parts[1];
+            node.update();
+            return new Node[]{parts[0], node};
+        }
+        Node[] parts = splitAt(node.right, count - size(node.left) - 1);
+        node.right = parts[0];
+        node.update();
+        return new Node[]{node, parts[1]};
+    }
+
+    private static Node merge(Node left, Node right)
+    {
+        if (left == null)
+        {
+            return right;
+        }
+        if (right == null)
+        {
+            return left;
+        }
+        if (left.priority > right.priority)
+        {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static int size(Node node)
+    {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node
+    {
+        private final PlayerRanking ranking;
+        private final int priority;
+        private Node left;
+        private Node right;
+        private int size = 1;
+
+        Node(PlayerRanking ranking, int priority)
+        {
+            this.ranking = ranking;
+            this.priority = priority;
+        }
+
+        void update()
+        {
+            size = 1 + RankingTree.size(left) + RankingTree.size(right);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.miki.footballpitch.ranking;
+
+/**
+ * Rating system applied to every match result, selected with ranking.rating.engine. Ratings are held in a
+ * primitive array indexed by player, so the same code rates a single match and replays the whole match history
+ * without boxing.
+ */
+interface RatingEngine
+{
+    double initialRating();
+
+    void applyResult(double[] ratings, int winnerIndex, int loserIndex);
+}
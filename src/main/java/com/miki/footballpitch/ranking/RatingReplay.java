@@ -0,0 +1,104 @@
+package com.miki.footballpitch.ranking;
+
+import com.miki.footballpitch.ranking.model.PlayerRanking;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Replays match results in match order on top of an optional starting point, for the historical ranking path.
+ * Players get dense indexes on first sight and all per-player state lives in primitive arrays, so a replay costs
+ * one pass over the results and no boxing.
+ */
+@Component
+@RequiredArgsConstructor
+class RatingReplay
+{
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final RatingEngine ratingEngine;
+
+    ReplayState newState()
+    {
+        return new ReplayState(ratingEngine);
+    }
+
+    static final class ReplayState
+    {
+        private final RatingEngine ratingEngine;
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<String> playerIds = new ArrayList<>();
+        private double[] ratings = new double[INITIAL_CAPACITY];
+        private int[] wins = new int[INITIAL_CAPACITY];
+        private int[] losses = new int[INITIAL_CAPACITY];
+
+        private ReplayState(RatingEngine ratingEngine)
+        {
+            this.ratingEngine = ratingEngine;
+        }
+
+        void seed(PlayerRanking ranking)
+        {
+            int index = indexOf(ranking.playerId());
+            ratings[index] = ranking.rating();
+            wins[index] = ranking.wins();
+            losses[index] = ranking.losses();
+        }
+
+        /**
+         * Applies the results in the order given and returns how many there were.
+         */
+        int apply(Stream<MatchResult> results)
+        {
+            int[] applied = {0};
+            results.forEach(result ->
+            {
+                int winner = indexOf(result.winnerId());
+                int loser = indexOf(result.loserId());
+                ratingEngine.applyResult(ratings, winner, loser);
+                wins[winner]++;
+                losses[loser]++;
+                applied[0]++;
+            });
+            return applied[0];
+        }
+
+        List<PlayerRanking> toRankings()
+        {
+            List<PlayerRanking> rankings = new ArrayList<>(playerIds.size());
+            for (int index = 0; index < playerIds.size(); index++)
+            {
+                rankings.add(PlayerRanking.create(playerIds.get(index),
+                        wins[index] * RankingService.POINTS_PER_WIN, wins[index], losses[index], ratings[index]));
+            }
+            return rankings;
+        }
+
+        private int indexOf(String playerId)
+        {
+            Integer index = indexes.get(playerId);
+            if (index != null)
+            {
+                return index;
+            }
+
+            int added = playerIds.size();
+            if (added == ratings.length)
+            {
+                ratings = Arrays.copyOf(ratings, added * 2);
+                wins = Arrays.copyOf(wins, added * 2);
+                losses = Arrays.copyOf(losses, added * 2);
+            }
+            ratings[added] = ratingEngine.initialRating();
+            playerIds.add(playerId);
+            indexes.put(playerId, added);
+            return added;
+        }
+    }
+}
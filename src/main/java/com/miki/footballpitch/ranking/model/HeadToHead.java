@@ -0,0 +1,11 @@
+package com.miki.footballpitch.ranking.model;
+
+import java.util.List;
+
+public record HeadToHead(
+        String playerId,
+        String opponentId,
+        int wins,
+        int losses,
+        List<Match> recentMatches
+) {}
@@ -0,0 +1,18 @@
+package com.miki.footballpitch.ranking.model;
+
+public record MatchBatchItemResult(
+        int index,
+        Match match,
+        String error
+)
+{
+    public static MatchBatchItemResult accepted(int index, Match match)
+    {
+        return new MatchBatchItemResult(index, match, null);
+    }
+
+    public static MatchBatchItemResult rejected(int index, String error)
+    {
+        return new MatchBatchItemResult(index, null, error);
+    }
+}
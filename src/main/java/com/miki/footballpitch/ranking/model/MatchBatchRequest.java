@@ -0,0 +1,12 @@
+package com.miki.footballpitch.ranking.model;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record MatchBatchRequest(
+        @NotEmpty(message = "Batch must contain at least one match")
+        @Size(max = 1000, message = "Batch cannot contain more than 1000 matches")
+        List<MatchRequest> matches
+) {}
@@ -0,0 +1,16 @@
+package com.miki.footballpitch.ranking.model;
+
+import java.util.List;
+
+public record MatchBatchResponse(
+        int accepted,
+        int rejected,
+        List<MatchBatchItemResult> results
+)
+{
+    public static MatchBatchResponse of(List<MatchBatchItemResult> results)
+    {
+        int accepted = (int) results.stream().filter(result -> result.error() == null).count();
+        return new MatchBatchResponse(accepted, results.size() - accepted, results);
+    }
+}
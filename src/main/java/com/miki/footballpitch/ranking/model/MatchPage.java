@@ -0,0 +1,8 @@
+package com.miki.footballpitch.ranking.model;
+
+import java.util.List;
+
+public record MatchPage(
+        List<Match> matches,
+        String nextCursor
+) {}
@@ -0,0 +1,13 @@
+package com.miki.footballpitch.ranking.model;
+
+import com.miki.footballpitch.common.DomainEvent;
+
+import java.time.Instant;
+
+public record MatchRecorded(Match match, Instant occurredAt) implements DomainEvent
+{
+    public static MatchRecorded of(Match match)
+    {
+        return new MatchRecorded(match, Instant.now());
+    }
+}
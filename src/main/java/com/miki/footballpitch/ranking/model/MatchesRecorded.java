@@ -0,0 +1,14 @@
+package com.miki.footballpitch.ranking.model;
+
+import com.miki.footballpitch.common.DomainEvent;
+
+import java.time.Instant;
+import java.util.List;
+
+public record MatchesRecorded(List<Match> matches, Instant occurredAt) implements DomainEvent
+{
+    public static MatchesRecorded of(List<Match> matches)
+    {
+        return new MatchesRecorded(List.copyOf(matches), Instant.now());
+    }
+}
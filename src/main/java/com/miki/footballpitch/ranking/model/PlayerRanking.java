@@ -5,11 +5,18 @@ public record PlayerRanking(
         int points,
         int wins,
         int losses,
-        int totalMatches
+        int totalMatches,
+        double rating,
+        Integer rank
 )
 {
-    public static PlayerRanking create(String playerId, int points, int wins, int losses)
+    public static PlayerRanking create(String playerId, int points, int wins, int losses, double rating)
     {
-        return new PlayerRanking(playerId, points, wins, losses, wins + losses);
+        return new PlayerRanking(playerId, points, wins, losses, wins + losses, rating, null);
     }
-}
\ No newline at end of file
+
+    public PlayerRanking withRank(Integer rank)
+    {
+        return new PlayerRanking(playerId, points, wins, losses, totalMatches, rating, rank);
+    }
+}
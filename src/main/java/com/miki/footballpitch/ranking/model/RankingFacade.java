@@ -1,5 +1,6 @@
 package com.miki.footballpitch.ranking.model;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface RankingFacade
@@ -7,9 +8,21 @@ public interface RankingFacade
 
     Match submitMatchResult(MatchRequest matchRequest);
 
-    List<PlayerRanking> getRankings();
+    MatchBatchResponse submitMatchResults(List<MatchRequest> matchRequests);
+
+    List<PlayerRanking> getRankings(int offset, int limit);
+
+    String getRankingsETag();
+
+    List<PlayerRanking> getRankingsAsOf(LocalDateTime asOf, int offset, int limit);
 
     PlayerRanking getPlayerRanking(String playerId);
 
-    List<Match> getPlayerMatches(String playerId);
+    List<PlayerRanking> getRankingsAround(String playerId, int radius);
+
+    HeadToHead getHeadToHead(String playerId, String opponentId, int last);
+
+    MatchPage getPlayerMatches(String playerId, LocalDateTime from, LocalDateTime to, String cursor, int size);
+
+    int rebuildRankings();
 }
\ No newline at end of file
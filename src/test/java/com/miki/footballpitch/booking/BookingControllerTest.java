@@ -2,6 +2,7 @@ package com.miki.footballpitch.booking;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.miki.footballpitch.booking.model.Booking;
+import com.miki.footballpitch.booking.model.BookingExportFormat;
 import com.miki.footballpitch.booking.model.BookingFacade;
 import com.miki.footballpitch.booking.model.BookingRequest;
 import lombok.SneakyThrows;
@@ -17,16 +18,24 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
 
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -99,6 +108,51 @@ class BookingControllerTest
                 .andExpect(jsonPath("$.durationMinutes", is(expectedBooking.durationMinutes())));
     }
 
+    @Test
+    @SneakyThrows
+    void bookPitch_whenRetriedWithSameIdempotencyKey_shouldReplayStoredBooking()
+    {
+        // Given
+        String idempotencyKey = UUID.randomUUID().toString();
+        BDDMockito.given(bookingFacade.bookPitch(any(BookingRequest.class))).willReturn(expectedBooking);
+
+        // When & Then
+        for (int attempt = 0; attempt < 2; attempt++)
+        {
+            mockMvc.perform(post("/bookings")
+                            .header("Idempotency-Key", idempotencyKey)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(validBookingRequest))
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.id", is(expectedBooking.id().intValue())));
+        }
+        verify(bookingFacade, times(1)).bookPitch(any(BookingRequest.class));
+    }
+
+    @Test
+    @SneakyThrows
+    void bookPitch_whenIdempotencyKeyReusedForDifferentRequest_shouldFailWith400()
+    {
+        // Given
+        String idempotencyKey = UUID.randomUUID().toString();
+        BDDMockito.given(bookingFacade.bookPitch(any(BookingRequest.class))).willReturn(expectedBooking);
+        mockMvc.perform(post("/bookings")
+                        .header("Idempotency-Key", idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validBookingRequest)))
+                .andExpect(status().isCreated());
+
+        // When & Then
+        mockMvc.perform(post("/bookings")
+                        .header("Idempotency-Key", idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new BookingRequest(validPitchId, validPlayerId, futureDateTime.plusHours(3), 60))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]", is("Idempotency key was already used for a different request")));
+    }
+
     @Test
     @SneakyThrows
     void bookPitch_whenDailyLimitExceeded_shouldFailWith400()
@@ -290,6 +344,61 @@ class BookingControllerTest
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void getRemainingMinutes_whenValidParameters_shouldSucceedWith200() throws Exception
+    {
+        // Given
+        BDDMockito.given(bookingFacade.getRemainingMinutes(any(Long.class), any(LocalDateTime.class)))
+                .willReturn(60);
+
+        // When & Then
+        mockMvc.perform(get("/bookings/remaining-minutes")
+                        .param("playerId", validPlayerId.toString())
+                        .param("date", formatDateTime(futureDateTime))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().string("60"));
+    }
+
+    @Test
+    @SneakyThrows
+    void exportBookings_whenCsvRequested_shouldStreamRows()
+    {
+        // Given
+        BDDMockito.willAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(3);
+            outputStream.write("id,pitchId,playerId,startTime,durationMinutes\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).given(bookingFacade).exportBookings(any(LocalDateTime.class), any(LocalDateTime.class),
+                eq(BookingExportFormat.CSV), any(OutputStream.class));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/bookings/export")
+                        .param("from", formatDateTime(futureDateTime))
+                        .param("to", formatDateTime(futureDateTime.plusDays(7)))
+                        .param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string("id,pitchId,playerId,startTime,durationMinutes\n"));
+    }
+
+    @Test
+    @SneakyThrows
+    void exportBookings_whenFormatUnsupported_shouldFailWith400()
+    {
+        mockMvc.perform(get("/bookings/export")
+                        .param("from", formatDateTime(futureDateTime))
+                        .param("to", formatDateTime(futureDateTime.plusDays(7)))
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]", is("Unsupported export format: xml")));
+    }
+
     // Helper Methods
     private BookingRequest createValidBookingRequest()
     {
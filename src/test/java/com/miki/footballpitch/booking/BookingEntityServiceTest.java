@@ -1,24 +1,51 @@
 package com.miki.footballpitch.booking;
 
+import com.miki.footballpitch.booking.model.AvailableWindow;
 import com.miki.footballpitch.booking.model.Booking;
+import com.miki.footballpitch.booking.model.BookingBatchItemResult;
+import com.miki.footballpitch.booking.model.BookingBatchResponse;
+import com.miki.footballpitch.booking.model.BookingCreated;
 import com.miki.footballpitch.booking.model.BookingFacade;
+import com.miki.footballpitch.booking.model.BookingPage;
 import com.miki.footballpitch.booking.model.BookingRequest;
+import com.miki.footballpitch.booking.model.SlotHold;
+import com.miki.footballpitch.pitch.model.Pitch;
+import com.miki.footballpitch.pitch.model.PitchFacade;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.assertj.core.api.Assertions;
 import org.assertj.core.api.SoftAssertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +53,16 @@ class BookingEntityServiceTest
 {
     @Mock
     private BookingRepository bookingRepository;
+    @Mock
+    private PitchFacade pitchFacade;
+    @Mock
+    private BookingExporter bookingExporter;
+    private PitchIntervalIndex pitchIntervalIndex;
+    private DailyMinuteCounters dailyMinuteCounters;
+    private SlotOccupancyCalendar slotOccupancyCalendar;
+    private SlotHoldRegistry slotHoldRegistry;
+    private PlayerBookingProjection playerBookingProjection;
+    private SimpleMeterRegistry meterRegistry;
     private BookingFacade bookingFacade;
     private BookingRequest validRequest;
     private LocalDateTime testDateTime;
@@ -44,15 +81,31 @@ class BookingEntityServiceTest
         validRequest = createBookingRequest(testPitchId, testPlayerId, testDateTime, testOneHourInMinute);
 
         int maxAllowedBookingMinute = 120;
-        bookingFacade = new BookingService(bookingRepository, maxAllowedBookingMinute);
+        pitchIntervalIndex = new PitchIntervalIndex();
+        dailyMinuteCounters = new DailyMinuteCounters();
+        slotOccupancyCalendar = new SlotOccupancyCalendar();
+        BookingSchedule bookingSchedule = new BookingSchedule(pitchIntervalIndex, dailyMinuteCounters, slotOccupancyCalendar);
+        meterRegistry = new SimpleMeterRegistry();
+        BookingLocks bookingLocks = new BookingLocks(meterRegistry, 16);
+        slotHoldRegistry = new SlotHoldRegistry(Duration.ofMinutes(2), Clock.fixed(Instant.parse("2024-01-15T12:00:00Z"), ZoneOffset.UTC));
+        AvailabilitySearch availabilitySearch = new AvailabilitySearch(slotOccupancyCalendar, pitchFacade, 31);
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        playerBookingProjection = new PlayerBookingProjection(bookingRepository);
+        ApplicationEventPublisher eventPublisher = event -> playerBookingProjection.on((BookingCreated) event);
+        TransactionOperations transactionOperations = TransactionOperations.withoutTransaction();
+        BatchBookingProcessor batchBookingProcessor = new BatchBookingProcessor(bookingRepository, bookingSchedule, bookingLocks,
+                slotHoldRegistry, validator, eventPublisher, transactionOperations, maxAllowedBookingMinute);
+        BookingRules bookingRules = new BookingRules(bookingSchedule, slotHoldRegistry, maxAllowedBookingMinute);
+        BookingWriter bookingWriter = new LockingBookingWriter(
+                bookingRepository, bookingSchedule, bookingLocks, bookingRules, eventPublisher, transactionOperations);
+        bookingFacade = new BookingService(bookingRepository, bookingSchedule, bookingWriter, bookingRules, availabilitySearch,
+                batchBookingProcessor, bookingExporter, slotHoldRegistry, playerBookingProjection, maxAllowedBookingMinute);
     }
 
     @Test
     void shouldBookPitchSuccessfully()
     {
         // Given
-        stubEmptyDailyBookingsForPlayer();
-        stubNoConflictingBookingsForPitch();
         BookingEntity expectedBookingEntity = createBookingEntity(testPitchId, testPlayerId, testDateTime, testOneHourInMinute);
         stubSuccessfulBookingSave(expectedBookingEntity);
 
@@ -62,14 +115,15 @@ class BookingEntityServiceTest
         // Then
         assertBookingDetailsMatch(result, testPitchId, testPlayerId, testDateTime, testOneHourInMinute);
         verifyBookingSaved();
+        assertPitchScheduleContainsBooking(testPitchId, testDateTime, testOneHourInMinute);
     }
 
     @Test
     void shouldThrowExceptionWhenExceedingDailyLimit()
     {
         // Given
-        BookingEntity existingBookingWithNinetyMinutes = createBookingEntity(12L, 12L, LocalDateTime.now(), 90);
-        stubExistingDailyBookingsForPlayer(List.of(existingBookingWithNinetyMinutes));
+        BookingEntity existingBookingWithNinetyMinutes = createBookingEntity(12L, testPlayerId, testDateTime.minusHours(3), 90);
+        seedDailyMinutes(List.of(existingBookingWithNinetyMinutes));
 
         // When & Then
         assertDailyLimitExceededException(() -> bookingFacade.bookPitch(validRequest));
@@ -80,9 +134,8 @@ class BookingEntityServiceTest
     void shouldAllowBookingAtDailyLimit()
     {
         // Given
-        BookingEntity existingBookingWithSixtyMinutes = createBookingEntity(12L, 12L, LocalDateTime.now(), 60);
-        stubExistingDailyBookingsForPlayer(List.of(existingBookingWithSixtyMinutes));
-        stubNoConflictingBookingsForPitch();
+        BookingEntity existingBookingWithSixtyMinutes = createBookingEntity(12L, testPlayerId, testDateTime.minusHours(3), 60);
+        seedDailyMinutes(List.of(existingBookingWithSixtyMinutes));
         BookingEntity expectedBookingEntity = createBookingEntity(testPitchId, testPlayerId, testDateTime, 60);
         stubSuccessfulBookingSave(expectedBookingEntity);
 
@@ -98,34 +151,251 @@ class BookingEntityServiceTest
     void shouldThrowExceptionWhenPitchAlreadyBooked()
     {
         // Given
-        stubEmptyDailyBookingsForPlayer();
         BookingEntity conflictingBooking = createConflictingBookingEntity();
-        stubConflictingBookingsForPitch(List.of(conflictingBooking));
+        seedPitchSchedule(List.of(conflictingBooking));
 
         // When & Then
         assertPitchAlreadyBookedException(() -> bookingFacade.bookPitch(validRequest));
         verifyNoBookingSaved();
     }
 
+    @Test
+    void shouldRejectBookingOfSlotHeldByAnotherPlayer()
+    {
+        // Given
+        bookingFacade.holdSlot(createBookingRequest(testPitchId, 7L, testDateTime.plusMinutes(30), 60));
+
+        // When & Then
+        assertThatThrownBy(() -> bookingFacade.bookPitch(validRequest))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Slot is currently held by another player");
+        assertThatThrownBy(() -> bookingFacade.holdSlot(validRequest))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Slot is currently held");
+        verifyNoBookingSaved();
+    }
+
+    @Test
+    void shouldTurnConfirmedHoldIntoBooking()
+    {
+        // Given
+        SlotHold slotHold = bookingFacade.holdSlot(validRequest);
+        stubSuccessfulBookingSave(createBookingEntity(testPitchId, testPlayerId, testDateTime, testOneHourInMinute));
+
+        // When
+        Booking result = bookingFacade.confirmHold(slotHold.token());
+
+        // Then
+        assertBookingDetailsMatch(result, testPitchId, testPlayerId, testDateTime, testOneHourInMinute);
+        verifyBookingSaved();
+        assertThatThrownBy(() -> bookingFacade.confirmHold(slotHold.token()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Slot hold not found or expired");
+    }
+
+    @Test
+    void shouldFreeSlotOnceHoldExpires()
+    {
+        // Given
+        SlotHoldRegistry expiringHolds = new SlotHoldRegistry(Duration.ZERO, Clock.systemUTC());
+        SlotHold expiredHold = expiringHolds.hold(createBookingRequest(testPitchId, 7L, testDateTime, 60));
+
+        // When
+        SlotHold newHold = expiringHolds.hold(validRequest);
+        expiringHolds.sweepExpiredHolds();
+
+        // Then
+        Assertions.assertThat(newHold.token()).isNotEqualTo(expiredHold.token());
+        Assertions.assertThat(expiringHolds.isHeldByAnotherPlayer(testPitchId, 7L, testDateTime, testDateTime.plusHours(1)))
+                .isFalse();
+        assertThatThrownBy(() -> expiringHolds.activeHold(newHold.token()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     void shouldCalculateDailyTotalFromMultipleBookings()
     {
         // Given
         List<BookingEntity> multipleExistingBookings = createMultipleBookingEntitiesExceedingLimit();
-        stubExistingDailyBookingsForPlayer(multipleExistingBookings);
+        seedDailyMinutes(multipleExistingBookings);
         BookingRequest requestForThirtyMinutes = createBookingRequest(testPitchId, testPlayerId, testDateTime, 30);
 
         // When & Then
         assertDailyLimitExceededException(() -> bookingFacade.bookPitch(requestForThirtyMinutes));
     }
 
+    @Test
+    void shouldReturnRemainingMinutesForPlayerOnDate()
+    {
+        // Given
+        seedDailyMinutes(List.of(createBookingEntity(testPitchId, testPlayerId, testDateTime, 45)));
+
+        // When
+        int remainingMinutes = bookingFacade.getRemainingMinutes(testPlayerId, testDateTime.withHour(8));
+        int remainingMinutesNextDay = bookingFacade.getRemainingMinutes(testPlayerId, testDateTime.plusDays(1));
+
+        // Then
+        Assertions.assertThat(remainingMinutes).isEqualTo(75);
+        Assertions.assertThat(remainingMinutesNextDay).isEqualTo(120);
+    }
+
+    @Test
+    void shouldFindFreeWindowsAroundExistingBookings()
+    {
+        // Given
+        seedPitchSchedule(createTwoBookingEntitiesForPlayer());
+
+        // When
+        List<AvailableWindow> windows = bookingFacade.findAvailability(
+                testPitchId, testDateTime.withHour(12), testDateTime.withHour(18), 15);
+
+        // Then
+        Assertions.assertThat(windows).containsExactly(
+                new AvailableWindow(testPitchId, testDateTime.withHour(12), testDateTime, 120),
+                new AvailableWindow(testPitchId, testDateTime.plusHours(1), testDateTime.withHour(18), 180)
+        );
+    }
+
+    @Test
+    void shouldSkipFreeWindowsShorterThanMinimumDuration()
+    {
+        // Given
+        seedPitchSchedule(List.of(createBookingEntity(testPitchId, testPlayerId, testDateTime, 60)));
+
+        // When
+        List<AvailableWindow> windows = bookingFacade.findAvailability(
+                testPitchId, testDateTime.minusMinutes(30), testDateTime.plusHours(3), 90);
+
+        // Then
+        Assertions.assertThat(windows).containsExactly(
+                new AvailableWindow(testPitchId, testDateTime.plusHours(1), testDateTime.plusHours(3), 120)
+        );
+    }
+
+    @Test
+    void shouldFindFreeWindowsAcrossActivePitches()
+    {
+        // Given
+        seedPitchSchedule(List.of(createBookingEntity(testPitchId, testPlayerId, testDateTime, 60)));
+        when(pitchFacade.getActivePitches()).thenReturn(List.of(
+                new Pitch("1", "Main pitch", true),
+                new Pitch("2", "Side pitch", true)
+        ));
+
+        // When
+        List<AvailableWindow> windows = bookingFacade.findAvailability(
+                null, testDateTime, testDateTime.plusHours(1), 15);
+
+        // Then
+        Assertions.assertThat(windows).containsExactly(
+                new AvailableWindow(2L, testDateTime, testDateTime.plusHours(1), 60)
+        );
+    }
+
+    @Test
+    void shouldRejectAvailabilityRangeThatEndsBeforeItStarts()
+    {
+        assertThatThrownBy(() -> bookingFacade.findAvailability(testPitchId, testDateTime, testDateTime.minusHours(1), 15))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Availability range start must be before its end");
+    }
+
+    @Test
+    void shouldReportBatchResultsPerItem()
+    {
+        // Given
+        LocalDateTime tomorrow = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        List<BookingRequest> batch = List.of(
+                createBookingRequest(testPitchId, testPlayerId, tomorrow, 60),
+                createBookingRequest(testPitchId, 7L, tomorrow.plusMinutes(30), 60),
+                createBookingRequest(testPitchId, 8L, tomorrow.plusHours(3), 10),
+                createBookingRequest(2L, testPlayerId, tomorrow.plusHours(2), 90),
+                createBookingRequest(2L, 9L, tomorrow, 60)
+        );
+        stubBatchSaveReturnsEntities();
+
+        // When
+        BookingBatchResponse response = bookingFacade.bookPitches(batch);
+
+        // Then
+        SoftAssertions batchAssertions = new SoftAssertions();
+        batchAssertions.assertThat(response.accepted()).isEqualTo(2);
+        batchAssertions.assertThat(response.rejected()).isEqualTo(3);
+        batchAssertions.assertThat(response.results()).extracting(BookingBatchItemResult::error).containsExactly(
+                null,
+                "Booking overlaps another booking in this batch",
+                "durationMinutes: Minimum booking duration is 15 minutes",
+                "Player exceeds daily limit of 2 hours",
+                null
+        );
+        batchAssertions.assertAll();
+        verify(bookingRepository).saveAll(anyList());
+        assertPitchScheduleContainsBooking(2L, tomorrow, 60);
+    }
+
+    @Test
+    void shouldRejectBatchItemsConflictingWithStoredBookings()
+    {
+        // Given
+        LocalDateTime tomorrow = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        seedPitchSchedule(List.of(createBookingEntity(testPitchId, 1L, tomorrow, 60)));
+
+        // When
+        BookingBatchResponse response = bookingFacade.bookPitches(List.of(
+                createBookingRequest(testPitchId, testPlayerId, tomorrow.plusMinutes(15), 30)
+        ));
+
+        // Then
+        Assertions.assertThat(response.results()).containsExactly(
+                BookingBatchItemResult.rejected(0, "Pitch is already booked for this time")
+        );
+        verify(bookingRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void shouldReturnCursorToNextPageOfPlayerBookings()
+    {
+        // Given
+        LocalDateTime from = testDateTime.withHour(0);
+        LocalDateTime to = from.plusDays(1);
+        List<BookingEntity> bookingEntities = List.of(
+                createStoredBookingEntity(11L, testDateTime, 30),
+                createStoredBookingEntity(12L, testDateTime.plusHours(1), 30),
+                createStoredBookingEntity(13L, testDateTime.plusHours(2), 30)
+        );
+        when(bookingRepository.findPlayerPage(eq(testPlayerId), eq(from), eq(0L), eq(to), any(Limit.class)))
+                .thenReturn(bookingEntities);
+        when(bookingRepository.findPlayerPage(eq(testPlayerId), eq(testDateTime.plusHours(1)), eq(12L), eq(to), any(Limit.class)))
+                .thenReturn(bookingEntities.subList(2, 3));
+
+        // When
+        BookingPage firstPage = bookingFacade.getPlayerBookings(testPlayerId, from, to, null, 2);
+        BookingPage secondPage = bookingFacade.getPlayerBookings(testPlayerId, from, to, firstPage.nextCursor(), 2);
+
+        // Then
+        SoftAssertions pageAssertions = new SoftAssertions();
+        pageAssertions.assertThat(firstPage.bookings()).extracting(Booking::id).containsExactly(11L, 12L);
+        pageAssertions.assertThat(firstPage.nextCursor()).isNotNull();
+        pageAssertions.assertThat(secondPage.bookings()).extracting(Booking::id).containsExactly(13L);
+        pageAssertions.assertThat(secondPage.nextCursor()).isNull();
+        pageAssertions.assertAll();
+    }
+
+    @Test
+    void shouldRejectMalformedPageCursor()
+    {
+        assertThatThrownBy(() -> bookingFacade.getPitchBookings(testPitchId, testDateTime, testDateTime.plusDays(1), "not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Invalid page cursor");
+    }
+
     @Test
     void shouldGetBookingsForPlayerOnDate()
     {
         // Given
         LocalDateTime queryDate = LocalDateTime.of(2024, 1, 15, 10, 0);
         List<BookingEntity> expectedBookingEntities = createTwoBookingEntitiesForPlayer();
-        stubExistingDailyBookingsForPlayer(expectedBookingEntities);
+        playerBookingProjection.load(expectedBookingEntities);
         List<Booking> expectedBookings = mapBookingEntitiesToDtos(expectedBookingEntities);
 
         // When
@@ -133,7 +403,7 @@ class BookingEntityServiceTest
 
         // Then
         assertBookingListMatches(result, expectedBookings);
-        verifyDailyBookingsQueried();
+        verifyNoInteractions(bookingRepository);
     }
 
     @Test
@@ -141,14 +411,111 @@ class BookingEntityServiceTest
     {
         // Given
         LocalDateTime queryDate = LocalDateTime.of(2024, 1, 15, 10, 0);
-        stubEmptyDailyBookingsForPlayer();
 
         // When
         List<Booking> result = bookingFacade.getBookingsForPlayerOnDate(testPlayerId, queryDate);
 
         // Then
         assertBookingListIsEmpty(result);
-        verifyDailyBookingsQueried();
+    }
+
+    @Test
+    void shouldProjectNewBookingsForPlayerDay()
+    {
+        // Given
+        BookingEntity savedBookingEntity = createStoredBookingEntity(7L, testDateTime, testOneHourInMinute);
+        stubSuccessfulBookingSave(savedBookingEntity);
+
+        // When
+        bookingFacade.bookPitch(validRequest);
+        List<Booking> result = bookingFacade.getBookingsForPlayerOnDate(testPlayerId, testDateTime);
+
+        // Then
+        assertBookingListMatches(result, List.of(savedBookingEntity.mapToDto()));
+    }
+
+    @Test
+    void shouldRebuildPlayerDayProjectionFromStoredBookings()
+    {
+        // Given
+        List<BookingEntity> storedBookingEntities = List.of(
+                createStoredBookingEntity(1L, testDateTime, 60),
+                createStoredBookingEntity(2L, testDateTime.minusHours(3), 30)
+        );
+        when(bookingRepository.findAll()).thenReturn(storedBookingEntities);
+
+        // When
+        int rebuilt = bookingFacade.rebuildPlayerBookingProjection();
+        List<Booking> result = bookingFacade.getBookingsForPlayerOnDate(testPlayerId, testDateTime);
+
+        // Then
+        Assertions.assertThat(rebuilt).isEqualTo(2);
+        Assertions.assertThat(result).extracting(Booking::id).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void shouldKeepBookingCommittedWhileProjectionRebuilds()
+    {
+        // Given
+        BookingEntity committedDuringRebuild = createStoredBookingEntity(3L, testDateTime.plusHours(2), 30);
+        when(bookingRepository.findAll()).thenAnswer(invocation ->
+        {
+            playerBookingProjection.on(BookingCreated.of(committedDuringRebuild.mapToDto()));
+            return List.of(createStoredBookingEntity(1L, testDateTime, 60));
+        });
+
+        // When
+        bookingFacade.rebuildPlayerBookingProjection();
+        List<Booking> result = bookingFacade.getBookingsForPlayerOnDate(testPlayerId, testDateTime);
+
+        // Then
+        Assertions.assertThat(result).extracting(Booking::id).containsExactly(1L, 3L);
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void shouldPersistExactlyOneOfConcurrentBookingsForSameSlot() throws Exception
+    {
+        // Given
+        int contenders = 8;
+        when(bookingRepository.save(any(BookingEntity.class))).thenAnswer(invocation ->
+        {
+            awaitPitchContention(contenders - 1);
+            BookingEntity saved = invocation.getArgument(0);
+            saved.setId(1L);
+            return saved;
+        });
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> outcomes = new ArrayList<>();
+
+        // When
+        try (ExecutorService clients = Executors.newFixedThreadPool(contenders))
+        {
+            for (long playerId = 1; playerId <= contenders; playerId++)
+            {
+                BookingRequest request = createBookingRequest(testPitchId, playerId, testDateTime, testOneHourInMinute);
+                outcomes.add(clients.submit(() ->
+                {
+                    start.await();
+                    return tryBook(request);
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> outcome : outcomes)
+            {
+                outcome.get();
+            }
+        }
+
+        // Then
+        long booked = outcomes.stream().filter(outcome -> outcome.resultNow()).count();
+        Assertions.assertThat(booked).isEqualTo(1);
+        verify(bookingRepository, times(1)).save(any(BookingEntity.class));
+        Assertions.assertThat(meterRegistry.get("booking.lock.contention").tag("stripe", "pitch").counter().count())
+                .isEqualTo(contenders - 1);
+        Timer pitchWait = meterRegistry.get("booking.lock.wait").tag("stripe", "pitch").timer();
+        Assertions.assertThat(pitchWait.count()).isEqualTo(contenders);
+        Assertions.assertThat(pitchWait.totalTime(TimeUnit.NANOSECONDS)).isPositive();
     }
 
     // common instance initialization
@@ -157,6 +524,13 @@ class BookingEntityServiceTest
         return new BookingEntity(pitchId, playerId, startTime, durationMinutes);
     }
 
+    private BookingEntity createStoredBookingEntity(Long id, LocalDateTime startTime, int durationMinutes)
+    {
+        BookingEntity bookingEntity = createBookingEntity(testPitchId, testPlayerId, startTime, durationMinutes);
+        bookingEntity.setId(id);
+        return bookingEntity;
+    }
+
     private BookingEntity createConflictingBookingEntity()
     {
         return createBookingEntity(testPitchId, 1L, testDateTime.plusMinutes(30), 60);
@@ -164,8 +538,8 @@ class BookingEntityServiceTest
 
     private List<BookingEntity> createMultipleBookingEntitiesExceedingLimit()
     {
-        BookingEntity firstBooking = createBookingEntity(testPitchId, 1L, testDateTime.plusMinutes(30), 40);
-        BookingEntity secondBooking = createBookingEntity(testPitchId, 1L, testDateTime.plusMinutes(30), 60);
+        BookingEntity firstBooking = createBookingEntity(testPitchId, testPlayerId, testDateTime.minusHours(4), 40);
+        BookingEntity secondBooking = createBookingEntity(2L, testPlayerId, testDateTime.minusHours(2), 60);
         return Arrays.asList(firstBooking, secondBooking);
     }
 
@@ -188,40 +562,46 @@ class BookingEntityServiceTest
     }
 
     // Common Mocking
-    private void stubEmptyDailyBookingsForPlayer()
+    private void seedDailyMinutes(List<BookingEntity> existingBookings)
     {
-        when(bookingRepository.findByPlayerIdAndStartTimeBetween(
-                anyLong(),
-                any(LocalDateTime.class),
-                any(LocalDateTime.class)
-        )).thenReturn(Collections.emptyList());
+        dailyMinuteCounters.load(existingBookings);
     }
 
-    private void stubExistingDailyBookingsForPlayer(List<BookingEntity> existingBookings)
+    private void seedPitchSchedule(List<BookingEntity> existingBookings)
     {
-        when(bookingRepository.findByPlayerIdAndStartTimeBetween(
-                anyLong(),
-                any(LocalDateTime.class),
-                any(LocalDateTime.class)
-        )).thenReturn(existingBookings);
+        pitchIntervalIndex.load(existingBookings);
+        slotOccupancyCalendar.load(existingBookings);
     }
 
-    private void stubNoConflictingBookingsForPitch()
+    private void stubBatchSaveReturnsEntities()
     {
-        when(bookingRepository.findByPitchIdAndStartTimeLessThanAndEndTimeGreaterThan(
-                anyLong(),
-                any(LocalDateTime.class),
-                any(LocalDateTime.class)
-        )).thenReturn(Collections.emptyList());
+        when(bookingRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
     }
 
-    private void stubConflictingBookingsForPitch(List<BookingEntity> conflictingBookings)
+    private boolean tryBook(BookingRequest request)
     {
-        when(bookingRepository.findByPitchIdAndStartTimeLessThanAndEndTimeGreaterThan(
-                anyLong(),
-                any(LocalDateTime.class),
-                any(LocalDateTime.class)
-        )).thenReturn(conflictingBookings);
+        try
+        {
+            bookingFacade.bookPitch(request);
+            return true;
+        }
+        catch (IllegalArgumentException e)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * Holds the winning booking inside its save until every other contender is queued on the pitch stripe.
+     */
+    private void awaitPitchContention(int waiting) throws InterruptedException
+    {
+        Counter contention = meterRegistry.get("booking.lock.contention").tag("stripe", "pitch").counter();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (contention.count() < waiting && System.nanoTime() < deadline)
+        {
+            Thread.sleep(1);
+        }
     }
 
     private void stubSuccessfulBookingSave(BookingEntity bookingEntityToReturn)
@@ -264,6 +644,12 @@ class BookingEntityServiceTest
         bookingListAssertions.assertAll();
     }
 
+    private void assertPitchScheduleContainsBooking(Long pitchId, LocalDateTime startTime, int durationMinutes)
+    {
+        Assertions.assertThat(pitchIntervalIndex.hasConflict(pitchId, startTime, startTime.plusMinutes(durationMinutes)))
+                .isTrue();
+    }
+
     private void assertDailyLimitExceededException(Runnable action)
     {
         assertThatThrownBy(action::run, "Player exceeds daily limit of 2 hours")
@@ -287,12 +673,4 @@ class BookingEntityServiceTest
         verify(bookingRepository, never()).save(any());
     }
 
-    private void verifyDailyBookingsQueried()
-    {
-        verify(bookingRepository).findByPlayerIdAndStartTimeBetween(
-                anyLong(),
-                any(LocalDateTime.class),
-                any(LocalDateTime.class)
-        );
-    }
 }
\ No newline at end of file
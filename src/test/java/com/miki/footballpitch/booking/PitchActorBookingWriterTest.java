@@ -0,0 +1,143 @@
+package com.miki.footballpitch.booking;
+
+import com.miki.footballpitch.booking.model.Booking;
+import com.miki.footballpitch.booking.model.BookingRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PitchActorBookingWriterTest
+{
+    @Mock
+    private BookingRepository bookingRepository;
+    private BookingSchedule bookingSchedule;
+    private PitchActorBookingWriter pitchActorBookingWriter;
+    private LocalDateTime testDateTime;
+
+    @BeforeEach
+    void setUp()
+    {
+        testDateTime = LocalDate.now().plusDays(7).atTime(14, 0);
+        bookingSchedule = new BookingSchedule(new PitchIntervalIndex(), new DailyMinuteCounters(), new SlotOccupancyCalendar());
+        BatchBookingProcessor batchBookingProcessor = new BatchBookingProcessor(
+                bookingRepository,
+                bookingSchedule,
+                new BookingLocks(new SimpleMeterRegistry(), 16),
+                new SlotHoldRegistry(Duration.ofMinutes(2)),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                event -> { },
+                TransactionOperations.withoutTransaction(),
+                120);
+        pitchActorBookingWriter = new PitchActorBookingWriter(batchBookingProcessor, 8);
+        when(bookingRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        pitchActorBookingWriter.destroy();
+    }
+
+    @Test
+    void shouldBookAndRecordInSchedule()
+    {
+        Booking booking = pitchActorBookingWriter.write(new BookingRequest(1L, 10L, testDateTime, 60));
+
+        assertThat(booking.startTime()).isEqualTo(testDateTime);
+        assertThat(bookingSchedule.hasConflict(1L, testDateTime.plusMinutes(30), testDateTime.plusMinutes(90))).isTrue();
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void shouldAcceptOnlyOneOfConcurrentOverlappingRequests() throws Exception
+    {
+        List<CompletableFuture<Boolean>> outcomes = new ArrayList<>();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor())
+        {
+            for (long playerId = 1; playerId <= 20; playerId++)
+            {
+                BookingRequest request = new BookingRequest(1L, playerId, testDateTime, 60);
+                outcomes.add(CompletableFuture.supplyAsync(() -> tryWrite(request), clients));
+            }
+            CompletableFuture.allOf(outcomes.toArray(CompletableFuture[]::new)).get();
+        }
+
+        assertThat(outcomes.stream().filter(CompletableFuture::join).count()).isEqualTo(1);
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void shouldKeepServingPitchAfterEarlierGroupsCommit()
+    {
+        for (int slot = 0; slot < 5; slot++)
+        {
+            Booking booking = pitchActorBookingWriter.write(
+                    new BookingRequest(1L, 10L + slot, testDateTime.plusHours(slot), 60));
+
+            assertThat(booking.startTime()).isEqualTo(testDateTime.plusHours(slot));
+        }
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void shouldRejectWithSingleBookingMessage()
+    {
+        pitchActorBookingWriter.write(new BookingRequest(1L, 10L, testDateTime, 60));
+
+        assertThatThrownBy(() -> pitchActorBookingWriter.write(new BookingRequest(1L, 11L, testDateTime, 60)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Pitch is already booked for this time");
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void shouldFailGroupOnErrorAndKeepServingPitch()
+    {
+        Error failure = new Error("storage failure");
+        when(bookingRepository.saveAll(anyList()))
+                .thenThrow(failure)
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertThatThrownBy(() -> pitchActorBookingWriter.write(new BookingRequest(1L, 10L, testDateTime, 60)))
+                .isSameAs(failure);
+
+        Booking booking = pitchActorBookingWriter.write(new BookingRequest(1L, 11L, testDateTime.plusHours(1), 60));
+        assertThat(booking.startTime()).isEqualTo(testDateTime.plusHours(1));
+    }
+
+    private boolean tryWrite(BookingRequest request)
+    {
+        try
+        {
+            pitchActorBookingWriter.write(request);
+            return true;
+        }
+        catch (IllegalArgumentException e)
+        {
+            return false;
+        }
+    }
+}
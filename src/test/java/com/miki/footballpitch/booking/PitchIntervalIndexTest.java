@@ -0,0 +1,72 @@
+package com.miki.footballpitch.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PitchIntervalIndexTest
+{
+    private PitchIntervalIndex pitchIntervalIndex;
+    private LocalDateTime tenOClock;
+    private Long testPitchId;
+
+    @BeforeEach
+    void setUp()
+    {
+        tenOClock = LocalDateTime.of(2024, 1, 15, 10, 0);
+        testPitchId = 1L;
+
+        pitchIntervalIndex = new PitchIntervalIndex();
+        pitchIntervalIndex.load(List.of(
+                new BookingEntity(testPitchId, 1L, tenOClock, 60),
+                new BookingEntity(testPitchId, 2L, tenOClock.plusHours(2), 90)
+        ));
+    }
+
+    @Test
+    void shouldDetectOverlapWithExistingBooking()
+    {
+        assertThat(pitchIntervalIndex.hasConflict(testPitchId, tenOClock.plusMinutes(30), tenOClock.plusMinutes(90))).isTrue();
+        assertThat(pitchIntervalIndex.hasConflict(testPitchId, tenOClock.minusMinutes(30), tenOClock.plusMinutes(15))).isTrue();
+        assertThat(pitchIntervalIndex.hasConflict(testPitchId, tenOClock.minusHours(1), tenOClock.plusHours(4))).isTrue();
+    }
+
+    @Test
+    void shouldAllowAdjacentBookings()
+    {
+        assertThat(pitchIntervalIndex.hasConflict(testPitchId, tenOClock.plusHours(1), tenOClock.plusHours(2))).isFalse();
+        assertThat(pitchIntervalIndex.hasConflict(testPitchId, tenOClock.minusHours(1), tenOClock)).isFalse();
+    }
+
+    @Test
+    void shouldIgnoreBookingsOnOtherPitches()
+    {
+        assertThat(pitchIntervalIndex.hasConflict(2L, tenOClock, tenOClock.plusHours(1))).isFalse();
+    }
+
+    @Test
+    void shouldIncludeAddedBookingInConflictChecks()
+    {
+        pitchIntervalIndex.add(new BookingEntity(testPitchId, 3L, tenOClock.plusHours(1), 30));
+
+        assertThat(pitchIntervalIndex.hasConflict(testPitchId, tenOClock.plusMinutes(75), tenOClock.plusMinutes(105))).isTrue();
+        assertThat(pitchIntervalIndex.size()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldReportPitchesThatDivergeFromStoredBookings()
+    {
+        List<BookingEntity> storedBookings = List.of(
+                new BookingEntity(testPitchId, 1L, tenOClock, 60),
+                new BookingEntity(testPitchId, 2L, tenOClock.plusHours(2), 90),
+                new BookingEntity(2L, 3L, tenOClock, 60)
+        );
+
+        assertThat(pitchIntervalIndex.findInconsistentPitches(storedBookings)).containsExactly(2L);
+        assertThat(pitchIntervalIndex.findInconsistentPitches(storedBookings.subList(0, 2))).isEmpty();
+    }
+}
@@ -0,0 +1,86 @@
+package com.miki.footballpitch.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlotOccupancyCalendarTest
+{
+    private SlotOccupancyCalendar slotOccupancyCalendar;
+    private LocalDate testDate;
+    private LocalDateTime tenOClock;
+    private Long testPitchId;
+
+    @BeforeEach
+    void setUp()
+    {
+        testDate = LocalDate.of(2024, 1, 15);
+        tenOClock = testDate.atTime(10, 0);
+        testPitchId = 1L;
+
+        slotOccupancyCalendar = new SlotOccupancyCalendar();
+        slotOccupancyCalendar.load(List.of(
+                new BookingEntity(testPitchId, 1L, tenOClock, 60),
+                new BookingEntity(testPitchId, 2L, testDate.atTime(19, 10), 50)
+        ));
+    }
+
+    @Test
+    void shouldReportOverlappingRangeAsTaken()
+    {
+        assertThat(slotOccupancyCalendar.isFree(testPitchId, tenOClock.plusMinutes(45), tenOClock.plusMinutes(75))).isFalse();
+        assertThat(slotOccupancyCalendar.isFree(testPitchId, testDate.atTime(19, 0), testDate.atTime(19, 15))).isFalse();
+    }
+
+    @Test
+    void shouldReportAdjacentRangesAsFree()
+    {
+        assertThat(slotOccupancyCalendar.isFree(testPitchId, tenOClock.minusHours(1), tenOClock)).isTrue();
+        assertThat(slotOccupancyCalendar.isFree(testPitchId, tenOClock.plusHours(1), tenOClock.plusHours(2))).isTrue();
+        assertThat(slotOccupancyCalendar.isFree(2L, tenOClock, tenOClock.plusHours(1))).isTrue();
+    }
+
+    @Test
+    void shouldScanFreeAndOccupiedSlots()
+    {
+        int tenOClockSlot = SlotOccupancyCalendar.slotOf(tenOClock);
+
+        assertThat(slotOccupancyCalendar.nextOccupiedSlot(testPitchId, testDate, 0)).isEqualTo(tenOClockSlot);
+        assertThat(slotOccupancyCalendar.nextFreeSlot(testPitchId, testDate, tenOClockSlot)).isEqualTo(tenOClockSlot + 4);
+        assertThat(slotOccupancyCalendar.nextOccupiedSlot(testPitchId, testDate, tenOClockSlot + 4)).isEqualTo(76);
+        assertThat(slotOccupancyCalendar.nextFreeSlot(testPitchId, testDate, 76)).isEqualTo(80);
+        assertThat(slotOccupancyCalendar.nextOccupiedSlot(testPitchId, testDate, 80)).isEqualTo(SlotOccupancyCalendar.SLOTS_PER_DAY);
+        assertThat(slotOccupancyCalendar.freeSlotCount(testPitchId, testDate)).isEqualTo(88);
+    }
+
+    @Test
+    void shouldSplitBookingsAcrossMidnight()
+    {
+        slotOccupancyCalendar.occupy(testPitchId, testDate.atTime(23, 30), testDate.plusDays(1).atTime(0, 30));
+
+        assertThat(slotOccupancyCalendar.nextOccupiedSlot(testPitchId, testDate, 80)).isEqualTo(94);
+        assertThat(slotOccupancyCalendar.nextFreeSlot(testPitchId, testDate.plusDays(1), 0)).isEqualTo(2);
+    }
+
+    @Test
+    void shouldKeepManyPitchDaysApart()
+    {
+        for (int day = 0; day < 500; day++)
+        {
+            LocalDateTime start = testDate.plusDays(day).atTime(day % 24, 0);
+            slotOccupancyCalendar.occupy(3L, start, start.plusMinutes(30));
+        }
+
+        for (int day = 0; day < 500; day++)
+        {
+            LocalDate date = testDate.plusDays(day);
+            assertThat(slotOccupancyCalendar.nextOccupiedSlot(3L, date, 0)).isEqualTo((day % 24) * 4);
+            assertThat(slotOccupancyCalendar.freeSlotCount(3L, date)).isEqualTo(94);
+        }
+    }
+}
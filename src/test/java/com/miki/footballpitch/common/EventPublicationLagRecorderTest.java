@@ -0,0 +1,34 @@
+package com.miki.footballpitch.common;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventPublicationLagRecorderTest
+{
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EventPublicationLagRecorder recorder = new EventPublicationLagRecorder(meterRegistry);
+
+    @Test
+    void shouldRecordLagPerEventTypeOnOneTimer()
+    {
+        recorder.on(new SlotBooked(Instant.now().minusMillis(50)));
+        recorder.on(new SlotBooked(Instant.now()));
+        recorder.on(new MatchPlayed(Instant.now()));
+
+        Timer slotBooked = meterRegistry.get("events.publication.lag").tag("event", "SlotBooked").timer();
+        assertThat(slotBooked.count()).isEqualTo(2);
+        assertThat(slotBooked.max(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(50);
+        assertThat(meterRegistry.get("events.publication.lag").tag("event", "MatchPlayed").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.getMeters()).hasSize(2);
+    }
+
+    private record SlotBooked(Instant occurredAt) implements DomainEvent {}
+
+    private record MatchPlayed(Instant occurredAt) implements DomainEvent {}
+}
@@ -0,0 +1,100 @@
+package com.miki.footballpitch.common;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyCacheTest
+{
+    @Test
+    void shouldReturnStoredResultForRetry()
+    {
+        IdempotencyCache idempotencyCache = new IdempotencyCache(Duration.ofHours(1), 10);
+        AtomicInteger calls = new AtomicInteger();
+
+        idempotencyCache.execute("scope", "key", "request", calls::incrementAndGet);
+        int retried = idempotencyCache.execute("scope", "key", "request", calls::incrementAndGet);
+
+        assertThat(retried).isEqualTo(1);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void shouldEvictOldestCompletedEntriesWhenFull()
+    {
+        IdempotencyCache idempotencyCache = new IdempotencyCache(Duration.ofHours(1), 2);
+        AtomicInteger calls = new AtomicInteger();
+
+        for (String key : new String[]{"a", "b", "c"})
+        {
+            idempotencyCache.execute("scope", key, key, calls::incrementAndGet);
+        }
+        idempotencyCache.execute("scope", "c", "c", calls::incrementAndGet);
+        idempotencyCache.execute("scope", "a", "a", calls::incrementAndGet);
+
+        assertThat(calls).hasValue(4);
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void shouldNotEvictInFlightEntry() throws Exception
+    {
+        IdempotencyCache idempotencyCache = new IdempotencyCache(Duration.ofHours(1), 1);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Integer> inFlight = CompletableFuture.supplyAsync(() ->
+                idempotencyCache.execute("scope", "slow", "slow", () ->
+                {
+                    started.countDown();
+                    await(release);
+                    return calls.incrementAndGet();
+                }));
+        started.await();
+        idempotencyCache.execute("scope", "other", "other", () -> 0);
+        idempotencyCache.execute("scope", "another", "another", () -> 0);
+        CompletableFuture<Integer> retry = CompletableFuture.supplyAsync(() ->
+                idempotencyCache.execute("scope", "slow", "slow", calls::incrementAndGet));
+        release.countDown();
+
+        assertThat(inFlight.get()).isEqualTo(1);
+        assertThat(retry.get()).isEqualTo(1);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void shouldFailWaitersAndForgetEntryWhenActionThrowsError()
+    {
+        IdempotencyCache idempotencyCache = new IdempotencyCache(Duration.ofHours(1), 10);
+
+        assertThatThrownBy(() -> idempotencyCache.execute("scope", "key", "request", () ->
+        {
+            throw new StackOverflowError();
+        })).isInstanceOf(StackOverflowError.class);
+
+        assertThat(idempotencyCache.execute("scope", "key", "request", () -> "retried")).isEqualTo("retried");
+    }
+
+    private static void await(CountDownLatch latch)
+    {
+        try
+        {
+            latch.await();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
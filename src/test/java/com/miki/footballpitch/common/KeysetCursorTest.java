@@ -0,0 +1,39 @@
+package com.miki.footballpitch.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest
+{
+    private static final LocalDateTime BOUNDARY = LocalDateTime.of(2025, 5, 1, 0, 0);
+
+    @Test
+    void shouldRoundTripThroughOpaqueToken()
+    {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2025, 5, 20, 18, 30), 42L);
+
+        String token = cursor.encode();
+
+        assertThat(token).doesNotContain("|", "2025");
+        assertThat(KeysetCursor.decode(token, BOUNDARY)).isEqualTo(cursor);
+    }
+
+    @Test
+    void shouldStartAtBoundaryWithoutToken()
+    {
+        assertThat(KeysetCursor.decode(null, BOUNDARY)).isEqualTo(new KeysetCursor(BOUNDARY, 0L));
+        assertThat(KeysetCursor.decode(" ", BOUNDARY)).isEqualTo(KeysetCursor.atBoundary(BOUNDARY));
+    }
+
+    @Test
+    void shouldRejectMalformedToken()
+    {
+        assertThatThrownBy(() -> KeysetCursor.decode("not-a-cursor", BOUNDARY))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid page cursor: not-a-cursor");
+    }
+}
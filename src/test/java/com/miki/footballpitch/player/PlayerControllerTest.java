@@ -13,6 +13,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -142,6 +144,22 @@ class PlayerControllerTest {
                 .andExpect(jsonPath("$[1].maxAdvanceDays").value(3));
     }
 
+    @Test
+    void shouldTagPlayerTypesAndReturnNotModifiedForCurrentTag() throws Exception {
+        when(playerFacade.getActivePlayerTypesETag()).thenReturn("\"abc-1\"");
+        when(playerFacade.getActivePlayerTypes()).thenReturn(List.of(new PlayerType("MEMBER", "Club Member", 14, true)));
+
+        mockMvc.perform(get("/api/players/types"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc-1\""));
+
+        mockMvc.perform(get("/api/players/types").header("If-None-Match", "\"abc-1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(playerFacade, times(1)).getActivePlayerTypes();
+    }
+
     @Test
     void shouldGetPlayerTypeSuccessfully() throws Exception {
         PlayerType memberType = new PlayerType("MEMBER", "Club Member", 14, true);
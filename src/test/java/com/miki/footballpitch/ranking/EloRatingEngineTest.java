@@ -0,0 +1,35 @@
+package com.miki.footballpitch.ranking;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class EloRatingEngineTest
+{
+    private final EloRatingEngine eloRatingEngine = new EloRatingEngine(32, 1500);
+
+    @Test
+    void shouldMoveEvenlyMatchedPlayersByHalfTheKFactor()
+    {
+        double[] ratings = {1500, 1500};
+
+        eloRatingEngine.applyResult(ratings, 0, 1);
+
+        assertThat(ratings[0]).isCloseTo(1516, within(1e-9));
+        assertThat(ratings[1]).isCloseTo(1484, within(1e-9));
+    }
+
+    @Test
+    void shouldRewardUpsetsMoreThanExpectedWins()
+    {
+        double[] favouriteWins = {1800, 1400};
+        double[] underdogWins = {1800, 1400};
+
+        eloRatingEngine.applyResult(favouriteWins, 0, 1);
+        eloRatingEngine.applyResult(underdogWins, 1, 0);
+
+        assertThat(favouriteWins[0] - 1800).isLessThan(underdogWins[1] - 1400);
+        assertThat(favouriteWins[0] + favouriteWins[1]).isCloseTo(3200, within(1e-9));
+    }
+}
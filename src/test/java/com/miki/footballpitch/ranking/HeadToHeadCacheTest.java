@@ -0,0 +1,163 @@
+package com.miki.footballpitch.ranking;
+
+import com.miki.footballpitch.ranking.model.HeadToHead;
+import com.miki.footballpitch.ranking.model.Match;
+import com.miki.footballpitch.ranking.model.MatchRecorded;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HeadToHeadCacheTest
+{
+    @Mock
+    private RankingRepository rankingRepository;
+    private HeadToHeadCache headToHeadCache;
+
+    @BeforeEach
+    void setUp()
+    {
+        headToHeadCache = new HeadToHeadCache(rankingRepository, 100);
+        stubPair("alice", "bob", match(3L, "alice", "bob", "alice"), match(2L, "bob", "alice", "bob"),
+                match(1L, "alice", "bob", "alice"));
+    }
+
+    @Test
+    void shouldAggregateFromEitherPlayersPointOfView()
+    {
+        HeadToHead alice = headToHeadCache.get("alice", "bob", 2);
+        HeadToHead bob = headToHeadCache.get("bob", "alice", 10);
+
+        assertThat(alice.wins()).isEqualTo(2);
+        assertThat(alice.losses()).isEqualTo(1);
+        assertThat(alice.recentMatches()).extracting(Match::id).containsExactly(3L, 2L);
+        assertThat(bob.wins()).isEqualTo(1);
+        assertThat(bob.opponentId()).isEqualTo("alice");
+        verify(rankingRepository, times(1)).countPairWins("alice", "bob");
+    }
+
+    @Test
+    void shouldApplyRecordedMatchesOnce()
+    {
+        headToHeadCache.get("alice", "bob", 10);
+        MatchRecorded recorded = MatchRecorded.of(match(4L, "bob", "alice", "bob").mapToDto());
+
+        headToHeadCache.on(recorded);
+        headToHeadCache.on(recorded);
+        HeadToHead bob = headToHeadCache.get("bob", "alice", 10);
+
+        assertThat(bob.wins()).isEqualTo(2);
+        assertThat(bob.losses()).isEqualTo(2);
+        assertThat(bob.recentMatches()).extracting(Match::id).containsExactly(4L, 3L, 2L, 1L);
+    }
+
+    @Test
+    void shouldReloadPairWhenEventCannotBePlaced()
+    {
+        headToHeadCache.get("alice", "bob", 10);
+        headToHeadCache.on(MatchRecorded.of(new Match(0L, "alice", "bob", "bob", null)));
+
+        headToHeadCache.get("alice", "bob", 10);
+
+        verify(rankingRepository, times(2)).countPairWins("alice", "bob");
+    }
+
+    @Test
+    void shouldEvictOldestLoadedPairFirst()
+    {
+        HeadToHeadCache smallCache = new HeadToHeadCache(rankingRepository, 2);
+        stubPair("alice", "carol");
+        stubPair("alice", "dave");
+
+        smallCache.get("alice", "bob", 10);
+        smallCache.get("alice", "carol", 10);
+        smallCache.get("dave", "alice", 10);
+        smallCache.get("carol", "alice", 10);
+        smallCache.get("bob", "alice", 10);
+
+        verify(rankingRepository, times(1)).countPairWins("alice", "carol");
+        verify(rankingRepository, times(2)).countPairWins("alice", "bob");
+    }
+
+    @Test
+    void shouldNotCachePairWhenAnEventForItArrivesDuringLoad()
+    {
+        headToHeadCache.get("alice", "bob", 10);
+        when(rankingRepository.countPairWins("alice", "carol"))
+                .thenAnswer(invocation ->
+                {
+                    headToHeadCache.on(MatchRecorded.of(new Match(5L, "carol", "alice", "carol", null)));
+                    return new PairWins(0, 0);
+                })
+                .thenReturn(new PairWins(0, 1));
+        when(rankingRepository.findRecentBetween("alice", "carol", Limit.of(HeadToHeadCache.RECENT_MATCHES)))
+                .thenReturn(List.of())
+                .thenReturn(List.of(match(5L, "carol", "alice", "carol")));
+
+        HeadToHead duringLoad = headToHeadCache.get("alice", "carol", 10);
+        HeadToHead reloaded = headToHeadCache.get("alice", "carol", 10);
+        headToHeadCache.get("alice", "carol", 10);
+
+        assertThat(duringLoad.losses()).isZero();
+        assertThat(reloaded.losses()).isEqualTo(1);
+        verify(rankingRepository, times(2)).countPairWins("alice", "carol");
+    }
+
+    @Test
+    void shouldKeepCountsFromAggregateBeyondRecentWindow()
+    {
+        when(rankingRepository.countPairWins("alice", "erin")).thenReturn(new PairWins(140, 60));
+        when(rankingRepository.findRecentBetween("alice", "erin", Limit.of(HeadToHeadCache.RECENT_MATCHES)))
+                .thenReturn(List.of(match(200L, "alice", "erin", "erin")));
+
+        headToHeadCache.get("alice", "erin", 10);
+        headToHeadCache.on(MatchRecorded.of(match(201L, "erin", "alice", "alice").mapToDto()));
+        HeadToHead erin = headToHeadCache.get("erin", "alice", 10);
+
+        assertThat(erin.wins()).isEqualTo(60);
+        assertThat(erin.losses()).isEqualTo(141);
+        assertThat(erin.recentMatches()).extracting(Match::id).containsExactly(201L, 200L);
+    }
+
+    @Test
+    void shouldKeySameLoadForEitherOrderOfFirstRequest()
+    {
+        stubPair("zoe", "amy", match(7L, "amy", "zoe", "zoe"));
+
+        HeadToHead zoe = headToHeadCache.get("zoe", "amy", 10);
+        HeadToHead amy = headToHeadCache.get("amy", "zoe", 10);
+
+        assertThat(zoe.wins()).isEqualTo(1);
+        assertThat(amy.losses()).isEqualTo(1);
+        assertThat(amy.opponentId()).isEqualTo("zoe");
+        verify(rankingRepository, times(1)).countPairWins("zoe", "amy");
+    }
+
+    private void stubPair(String first, String second, MatchEntity... newestFirst)
+    {
+        long firstWins = Arrays.stream(newestFirst).filter(match -> match.getWinnerId().equals(first)).count();
+        lenient().when(rankingRepository.countPairWins(first, second))
+                .thenReturn(new PairWins(firstWins, newestFirst.length - firstWins));
+        lenient().when(rankingRepository.findRecentBetween(first, second, Limit.of(HeadToHeadCache.RECENT_MATCHES)))
+                .thenReturn(List.of(newestFirst));
+    }
+
+    private static MatchEntity match(Long id, String player1Id, String player2Id, String winnerId)
+    {
+        MatchEntity matchEntity = new MatchEntity(player1Id, player2Id, winnerId);
+        matchEntity.setId(id);
+        return matchEntity;
+    }
+}
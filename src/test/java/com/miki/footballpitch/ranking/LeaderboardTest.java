@@ -0,0 +1,121 @@
+package com.miki.footballpitch.ranking;
+
+import com.miki.footballpitch.ranking.model.PlayerRanking;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class LeaderboardTest
+{
+    private Leaderboard leaderboard;
+
+    @BeforeEach
+    void setUp()
+    {
+        leaderboard = new Leaderboard();
+        leaderboard.load(List.of(
+                PlayerRanking.create("alice", 9, 3, 0, 1500.0),
+                PlayerRanking.create("bob", 3, 1, 2, 1500.0),
+                PlayerRanking.create("carol", 6, 2, 1, 1500.0),
+                PlayerRanking.create("dave", 3, 1, 0, 1500.0)
+        ));
+    }
+
+    @Test
+    void shouldRankByPointsThenPlayerId()
+    {
+        assertThat(leaderboard.range(0, 4))
+                .extracting(PlayerRanking::playerId, PlayerRanking::rank)
+                .containsExactly(
+                        tuple("alice", 1),
+                        tuple("carol", 2),
+                        tuple("bob", 3),
+                        tuple("dave", 4));
+        assertThat(leaderboard.find("bob")).map(PlayerRanking::rank).contains(3);
+        assertThat(leaderboard.find("nobody")).isEmpty();
+    }
+
+    @Test
+    void shouldMovePlayerWhenRankingChanges()
+    {
+        leaderboard.update(PlayerRanking.create("dave", 12, 4, 0, 1500.0));
+
+        assertThat(leaderboard.find("dave")).map(PlayerRanking::rank).contains(1);
+        assertThat(leaderboard.find("alice")).map(PlayerRanking::rank).contains(2);
+        assertThat(leaderboard.size()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldIgnoreStaleUpdates()
+    {
+        leaderboard.update(PlayerRanking.create("alice", 0, 0, 1, 1500.0));
+
+        assertThat(leaderboard.find("alice")).map(PlayerRanking::points).contains(9);
+    }
+
+    @Test
+    void shouldReturnNeighbourhoodAroundPlayer()
+    {
+        assertThat(leaderboard.around("carol", 1)).extracting(PlayerRanking::playerId)
+                .containsExactly("alice", "carol", "bob");
+        assertThat(leaderboard.around("alice", 1)).extracting(PlayerRanking::playerId)
+                .containsExactly("alice", "carol", "bob");
+        assertThat(leaderboard.around("nobody", 1)).isEmpty();
+    }
+
+    @Test
+    void shouldChangeETagOnlyWhenRankingsChange()
+    {
+        String loaded = leaderboard.eTag();
+
+        leaderboard.update(PlayerRanking.create("bob", 0, 0, 1, 1500.0));
+        assertThat(leaderboard.eTag()).isEqualTo(loaded);
+
+        leaderboard.update(PlayerRanking.create("bob", 6, 2, 2, 1510.0));
+        assertThat(leaderboard.eTag()).isNotEqualTo(loaded).startsWith("\"").endsWith("\"");
+    }
+
+    @Test
+    void shouldForgetPlayersDroppedByLoad()
+    {
+        leaderboard.load(List.of(PlayerRanking.create("erin", 3, 1, 0, 1500.0)));
+
+        assertThat(leaderboard.find("alice")).isEmpty();
+        assertThat(leaderboard.around("alice", 1)).isEmpty();
+        assertThat(leaderboard.find("erin")).map(PlayerRanking::rank).contains(1);
+    }
+
+    @Test
+    void shouldMatchSortedOrderUnderRandomUpdates()
+    {
+        Random random = new Random(42);
+        List<PlayerRanking> expected = new ArrayList<>();
+        leaderboard.load(List.of());
+        for (int i = 0; i < 500; i++)
+        {
+            PlayerRanking ranking = PlayerRanking.create("p" + i, random.nextInt(50), i, 0, 1500.0);
+            leaderboard.update(ranking);
+            expected.add(ranking);
+        }
+        for (int i = 0; i < 200; i++)
+        {
+            int player = random.nextInt(500);
+            PlayerRanking ranking = PlayerRanking.create("p" + player, random.nextInt(50), 1000 + i, 0, 1500.0);
+            leaderboard.update(ranking);
+            expected.set(player, ranking);
+        }
+        expected.sort(RankingTree.ORDER);
+
+        assertThat(leaderboard.range(100, 50)).extracting(PlayerRanking::playerId)
+                .containsExactlyElementsOf(expected.subList(100, 150).stream().map(PlayerRanking::playerId).toList());
+        assertThat(leaderboard.range(480, 50)).hasSize(20);
+        assertThat(leaderboard.range(500, 10)).isEmpty();
+        assertThat(leaderboard.find(expected.get(321).playerId())).map(PlayerRanking::rank).contains(322);
+    }
+}
@@ -0,0 +1,118 @@
+package com.miki.footballpitch.ranking;
+
+import com.miki.footballpitch.ranking.model.Match;
+import com.miki.footballpitch.ranking.model.MatchBatchItemResult;
+import com.miki.footballpitch.ranking.model.MatchBatchResponse;
+import com.miki.footballpitch.ranking.model.MatchRequest;
+import com.miki.footballpitch.ranking.model.MatchesRecorded;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class MatchBatchProcessorTest
+{
+    @Mock
+    private RankingRepository rankingRepository;
+    @Mock
+    private PlayerRankingUpdater playerRankingUpdater;
+
+    private final List<Object> publishedEvents = new ArrayList<>();
+    private MatchBatchProcessor matchBatchProcessor;
+
+    @BeforeEach
+    void setUp()
+    {
+        matchBatchProcessor = new MatchBatchProcessor(
+                rankingRepository,
+                playerRankingUpdater,
+                publishedEvents::add,
+                Validation.buildDefaultValidatorFactory().getValidator());
+
+        AtomicLong matchIds = new AtomicLong();
+        lenient().when(rankingRepository.saveAll(anyList())).thenAnswer(invocation ->
+        {
+            List<MatchEntity> matchEntities = invocation.getArgument(0);
+            matchEntities.forEach(matchEntity -> matchEntity.setId(matchIds.incrementAndGet()));
+            return matchEntities;
+        });
+    }
+
+    @Test
+    void shouldRejectInvalidItemsAndAcceptValidOnesAlongside()
+    {
+        MatchBatchResponse response = matchBatchProcessor.process(Arrays.asList(
+                new MatchRequest("alice", "bob", "alice"),
+                null,
+                new MatchRequest("", "bob", "bob"),
+                new MatchRequest("carol", "carol", "carol"),
+                new MatchRequest("carol", "dave", "erin"),
+                new MatchRequest("dave", "bob", "bob")
+        ));
+
+        assertThat(response.accepted()).isEqualTo(2);
+        assertThat(response.rejected()).isEqualTo(4);
+        assertThat(response.results())
+                .extracting(MatchBatchItemResult::index, MatchBatchItemResult::error)
+                .containsExactly(
+                        tuple(0, null),
+                        tuple(1, "Match cannot be null"),
+                        tuple(2, "player1Id: Player 1 ID is required"),
+                        tuple(3, "A player cannot play against themselves"),
+                        tuple(4, "Winner must be one of the participating players"),
+                        tuple(5, null));
+        assertThat(response.results().get(0).match().id()).isEqualTo(1L);
+        assertThat(response.results().get(5).match().id()).isEqualTo(2L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldApplyAggregatesOnceInMatchOrderAndPublishOneEvent()
+    {
+        matchBatchProcessor.process(List.of(
+                new MatchRequest("alice", "bob", "alice"),
+                new MatchRequest("bob", "carol", "carol"),
+                new MatchRequest("carol", "alice", "alice")
+        ));
+
+        ArgumentCaptor<List<Match>> applied = ArgumentCaptor.forClass(List.class);
+        verify(playerRankingUpdater, times(1)).apply(applied.capture());
+        verify(rankingRepository, times(1)).saveAll(anyList());
+        assertThat(applied.getValue()).extracting(Match::id, Match::winnerId)
+                .containsExactly(tuple(1L, "alice"), tuple(2L, "carol"), tuple(3L, "alice"));
+        assertThat(publishedEvents).singleElement()
+                .isInstanceOfSatisfying(MatchesRecorded.class, event ->
+                        assertThat(event.matches()).isEqualTo(applied.getValue()));
+    }
+
+    @Test
+    void shouldNotWriteAnythingWhenEveryItemIsRejected()
+    {
+        MatchBatchResponse response = matchBatchProcessor.process(List.of(
+                new MatchRequest("alice", "alice", "alice"),
+                new MatchRequest("alice", "bob", "carol")
+        ));
+
+        assertThat(response.accepted()).isZero();
+        assertThat(response.rejected()).isEqualTo(2);
+        verifyNoInteractions(rankingRepository, playerRankingUpdater);
+        assertThat(publishedEvents).isEmpty();
+    }
+}
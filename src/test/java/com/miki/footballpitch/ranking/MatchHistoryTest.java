@@ -0,0 +1,84 @@
+package com.miki.footballpitch.ranking;
+
+import com.miki.footballpitch.common.KeysetCursor;
+import com.miki.footballpitch.ranking.model.Match;
+import com.miki.footballpitch.ranking.model.MatchPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MatchHistoryTest
+{
+    private static final LocalDateTime FROM = LocalDateTime.of(2025, 5, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2025, 6, 1, 0, 0);
+
+    @Mock
+    private RankingRepository rankingRepository;
+    private MatchHistory matchHistory;
+
+    @BeforeEach
+    void setUp()
+    {
+        matchHistory = new MatchHistory(rankingRepository);
+    }
+
+    @Test
+    void shouldMergeBothColumnsNewestFirstAndReturnCursor()
+    {
+        LocalDateTime day = LocalDateTime.of(2025, 5, 20, 18, 0);
+        when(rankingRepository.findPlayer1Page(eq("alice"), eq(FROM), eq(TO), eq(0L), any(Limit.class)))
+                .thenReturn(List.of(match(5L, "alice", "bob", day.plusDays(2)), match(2L, "alice", "carol", day)));
+        when(rankingRepository.findPlayer2Page(eq("alice"), eq(FROM), eq(TO), eq(0L), any(Limit.class)))
+                .thenReturn(List.of(match(4L, "bob", "alice", day.plusDays(1)), match(3L, "carol", "alice", day)));
+
+        MatchPage page = matchHistory.page("alice", FROM, TO, null, 2);
+
+        assertThat(page.matches()).extracting(Match::id).containsExactly(5L, 4L);
+        assertThat(KeysetCursor.decode(page.nextCursor(), TO)).isEqualTo(new KeysetCursor(day.plusDays(1), 4L));
+    }
+
+    @Test
+    void shouldContinueFromCursorAndEndWithoutOne()
+    {
+        LocalDateTime day = LocalDateTime.of(2025, 5, 20, 18, 0);
+        String cursor = new KeysetCursor(day.plusDays(1), 4L).encode();
+        when(rankingRepository.findPlayer1Page(eq("alice"), eq(FROM), eq(day.plusDays(1)), eq(4L), any(Limit.class)))
+                .thenReturn(List.of(match(2L, "alice", "carol", day)));
+        when(rankingRepository.findPlayer2Page(eq("alice"), eq(FROM), eq(day.plusDays(1)), eq(4L), any(Limit.class)))
+                .thenReturn(List.of(match(3L, "carol", "alice", day)));
+
+        MatchPage page = matchHistory.page("alice", FROM, TO, cursor, 2);
+
+        assertThat(page.matches()).extracting(Match::id).containsExactly(3L, 2L);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldRejectMalformedCursor()
+    {
+        assertThatThrownBy(() -> matchHistory.page("alice", FROM, TO, "not-a-cursor", 2))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid page cursor");
+    }
+
+    private static MatchEntity match(Long id, String player1Id, String player2Id, LocalDateTime matchDate)
+    {
+        MatchEntity matchEntity = new MatchEntity(player1Id, player2Id, player1Id);
+        matchEntity.setId(id);
+        matchEntity.setMatchDate(matchDate);
+        return matchEntity;
+    }
+}
@@ -0,0 +1,154 @@
+package com.miki.footballpitch.ranking;
+
+import com.miki.footballpitch.ranking.model.PlayerRanking;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.Spliterators;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@ExtendWith(MockitoExtension.class)
+class ParallelRankingRebuildTest
+{
+    @Mock
+    private RankingRepository rankingRepository;
+    private RatingEngine ratingEngine;
+    private ParallelRankingRebuild parallelRankingRebuild;
+
+    @BeforeEach
+    void setUp()
+    {
+        ratingEngine = new EloRatingEngine(32, 1500);
+        parallelRankingRebuild = new ParallelRankingRebuild(rankingRepository, ratingEngine, 4, 1000);
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        parallelRankingRebuild.destroy();
+    }
+
+    @Test
+    void shouldMatchSequentialReplay()
+    {
+        List<MatchResult> results = randomResults(25_000, 300);
+        RatingReplay.ReplayState sequential = new RatingReplay(ratingEngine).newState();
+        sequential.apply(results.stream());
+
+        List<PlayerRanking> rebuilt = parallelRankingRebuild.rebuild(results.iterator());
+
+        assertThat(sorted(rebuilt)).containsExactlyElementsOf(sorted(sequential.toRankings()));
+        assertThat(rebuilt.stream().mapToInt(PlayerRanking::wins).sum()).isEqualTo(25_000);
+    }
+
+    @Test
+    void shouldReturnNoRankingsForEmptyLog()
+    {
+        assertThat(parallelRankingRebuild.rebuild(List.<MatchResult>of().iterator())).isEmpty();
+    }
+
+    /**
+     * Times the rebuild against the sequential replay over synthetic matches and logs the throughput; run with
+     * RANKING_BENCHMARK=true and gradle's -i to see the log.
+     */
+    @Test
+    @EnabledIfEnvironmentVariable(named = "RANKING_BENCHMARK", matches = "true")
+    void benchmarkAgainstSequentialReplay()
+    {
+        int matches = 10_000_000;
+        int players = 10_000;
+        int processors = Runtime.getRuntime().availableProcessors();
+        ParallelRankingRebuild rebuild = new ParallelRankingRebuild(rankingRepository, ratingEngine, processors, 65_536);
+        RatingReplay ratingReplay = new RatingReplay(ratingEngine);
+        try
+        {
+            for (int round = 0; round < 3; round++)
+            {
+                long started = System.nanoTime();
+                RatingReplay.ReplayState sequential = ratingReplay.newState();
+                sequential.apply(StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(syntheticResults(matches, players), 0), false));
+                List<PlayerRanking> expected = sequential.toRankings();
+                long sequentialNanos = System.nanoTime() - started;
+
+                started = System.nanoTime();
+                List<PlayerRanking> rebuilt = rebuild.rebuild(syntheticResults(matches, players));
+                long parallelNanos = System.nanoTime() - started;
+
+                assertThat(rebuilt).hasSameSizeAs(expected);
+                log.info("round {}, {} matches, {} players, {} processors: sequential {}M/s, parallel {}M/s",
+                        round, matches, players, processors,
+                        String.format("%.2f", matches * 1e3 / sequentialNanos),
+                        String.format("%.2f", matches * 1e3 / parallelNanos));
+            }
+        }
+        finally
+        {
+            rebuild.destroy();
+        }
+    }
+
+    private static Iterator<MatchResult> syntheticResults(int matches, int players)
+    {
+        String[] playerIds = new String[players];
+        for (int i = 0; i < players; i++)
+        {
+            playerIds[i] = "p" + i;
+        }
+        SplittableRandom random = new SplittableRandom(7);
+        return new Iterator<>()
+        {
+            private int produced;
+
+            @Override
+            public boolean hasNext()
+            {
+                return produced < matches;
+            }
+
+            @Override
+            public MatchResult next()
+            {
+                produced++;
+                int first = random.nextInt(players);
+                int second = (first + 1 + random.nextInt(players - 1)) % players;
+                return new MatchResult(playerIds[first], playerIds[second], playerIds[random.nextBoolean() ? first : second]);
+            }
+        };
+    }
+
+    private static List<MatchResult> randomResults(int matches, int players)
+    {
+        Random random = new Random(7);
+        List<MatchResult> results = new ArrayList<>(matches);
+        for (int i = 0; i < matches; i++)
+        {
+            int first = random.nextInt(players);
+            int second = (first + 1 + random.nextInt(players - 1)) % players;
+            String player1Id = "p" + first;
+            String player2Id = "p" + second;
+            results.add(new MatchResult(player1Id, player2Id, random.nextBoolean() ? player1Id : player2Id));
+        }
+        return results;
+    }
+
+    private static List<PlayerRanking> sorted(List<PlayerRanking> rankings)
+    {
+        return rankings.stream().sorted(Comparator.comparing(PlayerRanking::playerId)).toList();
+    }
+}
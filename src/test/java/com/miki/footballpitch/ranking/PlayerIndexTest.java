@@ -0,0 +1,58 @@
+package com.miki.footballpitch.ranking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlayerIndexTest
+{
+    @Test
+    void shouldAssignDenseIntsInOrderOfFirstSight()
+    {
+        PlayerIndex players = new PlayerIndex();
+
+        assertThat(players.indexOf("bob")).isZero();
+        assertThat(players.indexOf("alice")).isEqualTo(1);
+        assertThat(players.indexOf("bob")).isZero();
+        assertThat(players.playerId(1)).isEqualTo("alice");
+        assertThat(players.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldFindWithoutAssigning()
+    {
+        PlayerIndex players = new PlayerIndex();
+        players.indexOf("alice");
+
+        assertThat(players.find("alice")).isZero();
+        assertThat(players.find("nobody")).isEqualTo(PlayerIndex.ABSENT);
+        assertThat(players.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldPackPairKeyRegardlessOfOrder()
+    {
+        assertThat(PlayerIndex.pairKey(3, 7)).isEqualTo(PlayerIndex.pairKey(7, 3)).isEqualTo(3L << 32 | 7);
+        assertThat(PlayerIndex.pairKey(3, 7)).isNotEqualTo(PlayerIndex.pairKey(3, 8));
+    }
+
+    @Test
+    void shouldAssignEachPlayerOnceUnderConcurrentFirstSight()
+    {
+        PlayerIndex players = new PlayerIndex();
+        List<String> playerIds = IntStream.range(0, 1000).mapToObj(i -> "p" + i).toList();
+        Set<Integer> assigned = ConcurrentHashMap.newKeySet();
+
+        IntStream.range(0, 8).parallel()
+                .forEach(round -> playerIds.forEach(playerId -> assigned.add(players.indexOf(playerId))));
+
+        assertThat(players.size()).isEqualTo(1000);
+        assertThat(assigned).hasSize(1000).allMatch(index -> index >= 0 && index < 1000);
+        assertThat(playerIds).allMatch(playerId -> players.playerId(players.find(playerId)).equals(playerId));
+    }
+}
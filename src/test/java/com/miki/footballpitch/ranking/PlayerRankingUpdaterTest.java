@@ -0,0 +1,150 @@
+package com.miki.footballpitch.ranking;
+
+import com.miki.footballpitch.ranking.model.Match;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PlayerRankingUpdaterTest
+{
+    @Mock
+    private PlayerRankingRepository playerRankingRepository;
+    private PlayerRankingUpdater playerRankingUpdater;
+
+    @BeforeEach
+    void setUp()
+    {
+        playerRankingUpdater = new PlayerRankingUpdater(playerRankingRepository, new EloRatingEngine(32, 1500));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldLockPlayersInIdOrderAndInsertNewPlayersBeforeApplyingResults()
+    {
+        PlayerRankingEntity bob = new PlayerRankingEntity("bob", 3, 1, 0, 1516.0);
+        when(playerRankingRepository.findAllForUpdate(anyCollection())).thenReturn(List.of(bob));
+        when(playerRankingRepository.saveAllAndFlush(anyCollection()))
+                .thenAnswer(invocation -> List.copyOf(invocation.<Collection<PlayerRankingEntity>>getArgument(0)));
+
+        playerRankingUpdater.apply(List.of(match(1L, "carol", "bob", "carol"), match(2L, "alice", "bob", "bob")));
+
+        ArgumentCaptor<Collection<String>> locked = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<Collection<PlayerRankingEntity>> inserted = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<Collection<PlayerRankingEntity>> saved = ArgumentCaptor.forClass(Collection.class);
+        InOrder order = inOrder(playerRankingRepository);
+        order.verify(playerRankingRepository).findAllForUpdate(locked.capture());
+        order.verify(playerRankingRepository).saveAllAndFlush(inserted.capture());
+        order.verify(playerRankingRepository).saveAll(saved.capture());
+
+        assertThat(locked.getValue()).containsExactly("alice", "bob", "carol");
+        assertThat(inserted.getValue()).extracting(PlayerRankingEntity::getPlayerId).containsExactly("alice", "carol");
+        assertThat(saved.getValue()).extracting(PlayerRankingEntity::getPlayerId)
+                .containsExactlyInAnyOrder("alice", "bob", "carol");
+        assertThat(bob.mapToDto()).extracting("points", "wins", "losses").containsExactly(6, 2, 1);
+    }
+
+    @Test
+    void shouldNotInsertWhenEveryPlayerHasARow()
+    {
+        when(playerRankingRepository.findAllForUpdate(anyCollection())).thenReturn(List.of(
+                new PlayerRankingEntity("alice", 0, 0, 0, 1500.0),
+                new PlayerRankingEntity("bob", 0, 0, 0, 1500.0)));
+
+        playerRankingUpdater.apply(List.of(match(1L, "alice", "bob", "alice")));
+
+        verify(playerRankingRepository, never()).saveAllAndFlush(anyCollection());
+    }
+
+    @Test
+    void shouldReportUniqueViolationOnNewPlayerInsertAsDuplicateKey()
+    {
+        when(playerRankingRepository.findAllForUpdate(anyCollection())).thenReturn(List.of());
+        when(playerRankingRepository.saveAllAndFlush(anyCollection()))
+                .thenThrow(violation(ConstraintViolationException.ConstraintKind.UNIQUE));
+
+        assertThatThrownBy(() -> playerRankingUpdater.apply(List.of(match(1L, "alice", "bob", "alice"))))
+                .isInstanceOf(DuplicateKeyException.class)
+                .hasMessageContaining("[alice, bob]");
+        verify(playerRankingRepository, never()).saveAll(anyCollection());
+    }
+
+    @Test
+    void shouldRethrowOtherViolationOnNewPlayerInsert()
+    {
+        DataIntegrityViolationException violation = violation(ConstraintViolationException.ConstraintKind.OTHER);
+        when(playerRankingRepository.findAllForUpdate(anyCollection())).thenReturn(List.of());
+        when(playerRankingRepository.saveAllAndFlush(anyCollection())).thenThrow(violation);
+
+        assertThatThrownBy(() -> playerRankingUpdater.apply(List.of(match(1L, "alice", "bob", "alice"))))
+                .isSameAs(violation);
+    }
+
+    @Test
+    void shouldRetryFirstInsertRaceUpToMaxAttempts()
+    {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = PlayerRankingUpdater.retryOnFirstInsertRace(() ->
+        {
+            if (attempts.incrementAndGet() < PlayerRankingUpdater.MAX_ATTEMPTS)
+            {
+                throw new DuplicateKeyException("duplicate key");
+            }
+            return "applied";
+        });
+
+        assertThat(result).isEqualTo("applied");
+        attempts.set(0);
+        assertThatThrownBy(() -> PlayerRankingUpdater.retryOnFirstInsertRace(() ->
+        {
+            attempts.incrementAndGet();
+            throw new DuplicateKeyException("duplicate key");
+        })).isInstanceOf(DuplicateKeyException.class);
+        assertThat(attempts).hasValue(PlayerRankingUpdater.MAX_ATTEMPTS);
+    }
+
+    @Test
+    void shouldNotRetryOtherIntegrityViolations()
+    {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> PlayerRankingUpdater.retryOnFirstInsertRace(() ->
+        {
+            attempts.incrementAndGet();
+            throw new DataIntegrityViolationException("match winner is null");
+        })).isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(attempts).hasValue(1);
+    }
+
+    private static DataIntegrityViolationException violation(ConstraintViolationException.ConstraintKind kind)
+    {
+        return new DataIntegrityViolationException("player_ranking insert failed", new ConstraintViolationException(
+                "player_ranking insert failed", new SQLException("constraint violated"), kind, "PRIMARY_KEY"));
+    }
+
+    private static Match match(Long id, String player1Id, String player2Id, String winnerId)
+    {
+        return new Match(id, player1Id, player2Id, winnerId, null);
+    }
+}
@@ -0,0 +1,256 @@
+package com.miki.footballpitch.ranking;
+
+import com.miki.footballpitch.ranking.model.PlayerRanking;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RankingHistoryTest
+{
+    private static final Duration GRACE = Duration.ofMinutes(1);
+    private static final Duration HOURLY_RETENTION = Duration.ofDays(2);
+
+    @Mock
+    private RankingRepository rankingRepository;
+    @Mock
+    private RankingCheckpointRepository checkpointRepository;
+    @Mock
+    private RankingCheckpointEntryRepository checkpointEntryRepository;
+    private RankingHistory rankingHistory;
+
+    @BeforeEach
+    void setUp()
+    {
+        rankingHistory = new RankingHistory(rankingRepository, checkpointRepository, checkpointEntryRepository,
+                new RatingReplay(new EloRatingEngine(32, 1500)), GRACE, HOURLY_RETENTION);
+    }
+
+    @Test
+    void shouldReplayWholeHistoryWhenNoCheckpointPrecedesAsOf()
+    {
+        LocalDateTime asOf = LocalDateTime.of(2025, 3, 1, 12, 0);
+        when(checkpointRepository.findFirstByAsOfLessThanEqualOrderByAsOfDesc(asOf)).thenReturn(Optional.empty());
+        when(rankingRepository.streamResultsUpTo(asOf)).thenReturn(Stream.of(
+                new MatchResult("alice", "bob", "alice"),
+                new MatchResult("bob", "carol", "bob")));
+
+        List<PlayerRanking> rankings = rankingHistory.rankingsAsOf(asOf, 0, 10);
+
+        assertThat(rankings).extracting(PlayerRanking::playerId).containsExactly("alice", "bob", "carol");
+        assertThat(rankings).extracting(PlayerRanking::rank).containsExactly(1, 2, 3);
+        assertThat(rankings.get(1).wins()).isEqualTo(1);
+        assertThat(rankings.get(1).losses()).isEqualTo(1);
+        verify(rankingRepository, never()).streamResultsBetween(any(), any());
+    }
+
+    @Test
+    void shouldSeedFromCheckpointAndReplayLateAndNewerMatches()
+    {
+        LocalDateTime checkpointAsOf = LocalDateTime.of(2025, 3, 1, 11, 0);
+        LocalDateTime asOf = LocalDateTime.of(2025, 3, 1, 12, 0);
+        when(checkpointRepository.findFirstByAsOfLessThanEqualOrderByAsOfDesc(asOf))
+                .thenReturn(Optional.of(checkpoint(7L, checkpointAsOf)));
+        when(checkpointEntryRepository.findByCheckpointId(7L)).thenReturn(List.of(
+                new RankingCheckpointEntryEntity(7L, PlayerRanking.create("alice", 6, 2, 0, 1531.0)),
+                new RankingCheckpointEntryEntity(7L, PlayerRanking.create("bob", 0, 0, 2, 1469.0))));
+        when(rankingRepository.streamLateResults(7L, checkpointAsOf))
+                .thenReturn(Stream.of(new MatchResult("alice", "dave", "dave")));
+        when(rankingRepository.streamResultsBetween(checkpointAsOf, asOf))
+                .thenReturn(Stream.of(new MatchResult("bob", "carol", "bob")));
+
+        List<PlayerRanking> rankings = rankingHistory.rankingsAsOf(asOf, 0, 10);
+
+        assertThat(rankings).extracting(PlayerRanking::playerId).containsExactly("alice", "bob", "dave", "carol");
+        assertThat(rankings.get(0)).extracting("wins", "losses").containsExactly(2, 1);
+        assertThat(rankings.get(1)).extracting("wins", "losses").containsExactly(1, 2);
+        assertThat(rankings.get(2)).extracting("wins", "losses").containsExactly(1, 0);
+        verify(rankingRepository, never()).streamResultsUpTo(any());
+    }
+
+    @Test
+    void shouldPageRankingsWithAbsoluteRanks()
+    {
+        LocalDateTime asOf = LocalDateTime.of(2025, 3, 1, 12, 0);
+        when(checkpointRepository.findFirstByAsOfLessThanEqualOrderByAsOfDesc(asOf)).thenReturn(Optional.empty());
+        when(rankingRepository.streamResultsUpTo(asOf)).thenReturn(Stream.of(
+                new MatchResult("alice", "bob", "alice"),
+                new MatchResult("bob", "carol", "bob")));
+
+        List<PlayerRanking> rankings = rankingHistory.rankingsAsOf(asOf, 1, 5);
+
+        assertThat(rankings).extracting(PlayerRanking::playerId).containsExactly("bob", "carol");
+        assertThat(rankings).extracting(PlayerRanking::rank).containsExactly(2, 3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldTakeFirstCheckpointGraceBeforeNowFromMatchesItAbsorbs()
+    {
+        when(checkpointRepository.findFirstByOrderByAsOfDesc()).thenReturn(Optional.empty());
+        stubSavedCheckpoint(1L);
+        when(rankingRepository.streamResultsOfCheckpoint(1L))
+                .thenReturn(Stream.of(new MatchResult("alice", "bob", "alice")));
+
+        LocalDateTime before = LocalDateTime.now();
+        rankingHistory.takeCheckpoint();
+        LocalDateTime after = LocalDateTime.now();
+
+        ArgumentCaptor<LocalDateTime> asOf = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(rankingRepository).absorbMatches(eq(1L), asOf.capture());
+        assertThat(asOf.getValue()).isBetween(before.minus(GRACE), after.minus(GRACE));
+        verify(rankingRepository, never()).absorbLateMatches(anyLong(), any());
+
+        ArgumentCaptor<Collection<RankingCheckpointEntryEntity>> entries = ArgumentCaptor.forClass(Collection.class);
+        verify(checkpointEntryRepository).saveAll(entries.capture());
+        assertThat(entries.getValue()).extracting(RankingCheckpointEntryEntity::getPlayerId)
+                .containsExactlyInAnyOrder("alice", "bob");
+        assertThat(entries.getValue()).extracting(RankingCheckpointEntryEntity::getCheckpointId).containsOnly(1L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldAbsorbLateMatchesBeforeNewOnesAndSeedFromLatest()
+    {
+        LocalDateTime previousAsOf = LocalDateTime.now().minusHours(1);
+        when(checkpointRepository.findFirstByOrderByAsOfDesc()).thenReturn(Optional.of(checkpoint(3L, previousAsOf)));
+        when(rankingRepository.countByCheckpointIdIsNullAndMatchDateLessThanEqual(any())).thenReturn(2L);
+        stubSavedCheckpoint(4L);
+        when(checkpointEntryRepository.findByCheckpointId(3L)).thenReturn(List.of(
+                new RankingCheckpointEntryEntity(3L, PlayerRanking.create("alice", 3, 1, 0, 1516.0))));
+        when(rankingRepository.streamResultsOfCheckpoint(4L)).thenReturn(Stream.of(
+                new MatchResult("alice", "bob", "bob"),
+                new MatchResult("alice", "carol", "alice")));
+
+        rankingHistory.takeCheckpoint();
+
+        InOrder order = inOrder(rankingRepository);
+        order.verify(rankingRepository).absorbLateMatches(4L, previousAsOf);
+        order.verify(rankingRepository).absorbMatches(eq(4L), any());
+        order.verify(rankingRepository).streamResultsOfCheckpoint(4L);
+
+        ArgumentCaptor<Collection<RankingCheckpointEntryEntity>> entries = ArgumentCaptor.forClass(Collection.class);
+        verify(checkpointEntryRepository).saveAll(entries.capture());
+        assertThat(entries.getValue())
+                .filteredOn(entry -> entry.getPlayerId().equals("alice"))
+                .singleElement()
+                .extracting("wins", "losses")
+                .containsExactly(2, 1);
+    }
+
+    @Test
+    void shouldSkipCheckpointWhenLatestIsWithinGrace()
+    {
+        when(checkpointRepository.findFirstByOrderByAsOfDesc())
+                .thenReturn(Optional.of(checkpoint(3L, LocalDateTime.now())));
+
+        rankingHistory.takeCheckpoint();
+
+        verifyNoInteractions(rankingRepository, checkpointEntryRepository);
+        verify(checkpointRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldSkipCheckpointWhenNoMatchIsWaitingToBeAbsorbed()
+    {
+        when(checkpointRepository.findFirstByOrderByAsOfDesc())
+                .thenReturn(Optional.of(checkpoint(3L, LocalDateTime.now().minusHours(1))));
+        when(rankingRepository.countByCheckpointIdIsNullAndMatchDateLessThanEqual(any())).thenReturn(0L);
+
+        rankingHistory.takeCheckpoint();
+
+        verify(checkpointRepository, never()).save(any());
+        verify(rankingRepository, never()).absorbMatches(anyLong(), any());
+        verify(checkpointEntryRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldThinEveryCheckpointPastRetentionToLastOfEachDay()
+    {
+        when(checkpointRepository.findFirstByOrderByAsOfDesc()).thenReturn(Optional.empty());
+        stubSavedCheckpoint(20L);
+        when(rankingRepository.streamResultsOfCheckpoint(20L)).thenReturn(Stream.empty());
+        LocalDateTime longAgo = LocalDateTime.now().minusDays(30).toLocalDate().atStartOfDay();
+        LocalDateTime dayBefore = LocalDateTime.now().minus(HOURLY_RETENTION).minusDays(1).toLocalDate().atStartOfDay();
+        when(checkpointRepository.findByAsOfLessThanOrderByAsOf(any())).thenReturn(List.of(
+                checkpoint(1L, longAgo.plusHours(1)),
+                checkpoint(2L, longAgo.plusHours(5)),
+                checkpoint(3L, dayBefore.plusHours(1)),
+                checkpoint(4L, dayBefore.plusHours(2)),
+                checkpoint(5L, dayBefore.plusHours(23)),
+                checkpoint(6L, dayBefore.plusDays(1).plusMinutes(5))));
+
+        LocalDateTime before = LocalDateTime.now();
+        rankingHistory.takeCheckpoint();
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(checkpointRepository).findByAsOfLessThanOrderByAsOf(cutoff.capture());
+        assertThat(cutoff.getValue()).isAfterOrEqualTo(before.minus(GRACE).minus(HOURLY_RETENTION));
+
+        ArgumentCaptor<Collection<Long>> deletedEntries = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<Iterable<Long>> deletedCheckpoints = ArgumentCaptor.forClass(Iterable.class);
+        verify(checkpointEntryRepository).deleteByCheckpointIds(deletedEntries.capture());
+        verify(checkpointRepository).deleteAllByIdInBatch(deletedCheckpoints.capture());
+        assertThat(deletedEntries.getValue()).containsExactly(1L, 3L, 4L);
+        assertThat(deletedCheckpoints.getValue()).containsExactly(1L, 3L, 4L);
+    }
+
+    @Test
+    void shouldNotDeleteAnythingWhenEachDayHasOneCheckpoint()
+    {
+        when(checkpointRepository.findFirstByOrderByAsOfDesc()).thenReturn(Optional.empty());
+        stubSavedCheckpoint(5L);
+        when(rankingRepository.streamResultsOfCheckpoint(5L)).thenReturn(Stream.empty());
+        LocalDateTime dayBefore = LocalDateTime.now().minus(HOURLY_RETENTION).minusDays(1).toLocalDate().atStartOfDay();
+        when(checkpointRepository.findByAsOfLessThanOrderByAsOf(any())).thenReturn(List.of(
+                checkpoint(1L, dayBefore.minusDays(1)),
+                checkpoint(2L, dayBefore.plusHours(23))));
+
+        rankingHistory.takeCheckpoint();
+
+        verify(checkpointEntryRepository, never()).deleteByCheckpointIds(anyCollection());
+        verify(checkpointRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    private void stubSavedCheckpoint(Long id)
+    {
+        when(checkpointRepository.save(any())).thenAnswer(invocation ->
+        {
+            RankingCheckpointEntity saved = invocation.getArgument(0);
+            ReflectionTestUtils.setField(saved, "id", id);
+            return saved;
+        });
+    }
+
+    private static RankingCheckpointEntity checkpoint(Long id, LocalDateTime asOf)
+    {
+        RankingCheckpointEntity checkpoint = new RankingCheckpointEntity(asOf);
+        ReflectionTestUtils.setField(checkpoint, "id", id);
+        return checkpoint;
+    }
+}
@@ -0,0 +1,160 @@
+package com.miki.footballpitch.ranking;
+
+import com.miki.footballpitch.common.KeysetCursor;
+import com.miki.footballpitch.ranking.model.Match;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest
+class RankingRepositoryTest
+{
+    private static final LocalDateTime CHECKPOINT = LocalDateTime.of(2025, 3, 1, 11, 0);
+    private static final LocalDateTime AS_OF = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    @Autowired
+    private RankingRepository rankingRepository;
+    @Autowired
+    private PlayerRankingRepository playerRankingRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp()
+    {
+        rankingRepository.saveAll(List.of(
+                match("before", CHECKPOINT.minusSeconds(1)),
+                match("atCheckpoint", CHECKPOINT),
+                match("between", CHECKPOINT.plusMinutes(30)),
+                match("atAsOf", AS_OF),
+                match("after", AS_OF.plusNanos(1000))));
+    }
+
+    @Test
+    void shouldStreamResultsAfterCheckpointUpToAndIncludingAsOf()
+    {
+        try (Stream<MatchResult> results = rankingRepository.streamResultsBetween(CHECKPOINT, AS_OF))
+        {
+            assertThat(results.map(MatchResult::winnerId)).containsExactly("between", "atAsOf");
+        }
+    }
+
+    @Test
+    void shouldStreamResultsUpToAndIncludingAsOf()
+    {
+        try (Stream<MatchResult> results = rankingRepository.streamResultsUpTo(AS_OF))
+        {
+            assertThat(results.map(MatchResult::winnerId))
+                    .containsExactly("before", "atCheckpoint", "between", "atAsOf");
+        }
+    }
+
+    @Test
+    void shouldAbsorbMatchesInCommitOrderAndReplayLateOnes()
+    {
+        int absorbed = rankingRepository.absorbMatches(1L, CHECKPOINT);
+        MatchEntity late = rankingRepository.save(match("late", CHECKPOINT.minusMinutes(5)));
+
+        try (Stream<MatchResult> results = rankingRepository.streamLateResults(1L, CHECKPOINT))
+        {
+            assertThat(results.map(MatchResult::winnerId)).containsExactly("late");
+        }
+        assertThat(rankingRepository.countByCheckpointIdIsNullAndMatchDateLessThanEqual(AS_OF)).isEqualTo(3);
+
+        int absorbedLate = rankingRepository.absorbLateMatches(2L, CHECKPOINT);
+        int absorbedNew = rankingRepository.absorbMatches(2L, AS_OF);
+        entityManager.clear();
+
+        assertThat(absorbed).isEqualTo(2);
+        assertThat(absorbedLate).isEqualTo(1);
+        assertThat(absorbedNew).isEqualTo(2);
+        assertThat(rankingRepository.findById(late.getId())).get()
+                .extracting(MatchEntity::getCheckpointId, MatchEntity::isCommittedLate)
+                .containsExactly(2L, true);
+        try (Stream<MatchResult> results = rankingRepository.streamResultsOfCheckpoint(2L))
+        {
+            assertThat(results.map(MatchResult::winnerId)).containsExactly("late", "between", "atAsOf");
+        }
+        try (Stream<MatchResult> results = rankingRepository.streamLateResults(1L, CHECKPOINT))
+        {
+            assertThat(results.map(MatchResult::winnerId)).containsExactly("late");
+        }
+        try (Stream<MatchResult> results = rankingRepository.streamLateResults(2L, AS_OF))
+        {
+            assertThat(results).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldPageMatchesFromInclusiveToExclusive()
+    {
+        KeysetCursor first = KeysetCursor.atBoundary(AS_OF);
+
+        List<MatchEntity> page = rankingRepository.findPlayer1Page(
+                "between", CHECKPOINT, first.time(), first.id(), Limit.of(10));
+        List<MatchEntity> excluded = rankingRepository.findPlayer1Page(
+                "atAsOf", CHECKPOINT, first.time(), first.id(), Limit.of(10));
+        List<MatchEntity> included = rankingRepository.findPlayer1Page(
+                "atCheckpoint", CHECKPOINT, first.time(), first.id(), Limit.of(10));
+
+        assertThat(page).extracting(MatchEntity::getWinnerId).containsExactly("between");
+        assertThat(excluded).isEmpty();
+        assertThat(included).extracting(MatchEntity::getWinnerId).containsExactly("atCheckpoint");
+    }
+
+    @Test
+    void shouldCountPairWinsAndFetchOnlyRecentPairMatches()
+    {
+        rankingRepository.saveAll(List.of(
+                match("alice", "bob", "alice", AS_OF),
+                match("bob", "alice", "alice", AS_OF),
+                match("alice", "bob", "bob", AS_OF),
+                match("alice", "carol", "alice", AS_OF)));
+
+        assertThat(rankingRepository.countPairWins("alice", "bob")).isEqualTo(new PairWins(2, 1));
+        assertThat(rankingRepository.countPairWins("alice", "dave")).isEqualTo(new PairWins(0, 0));
+        assertThat(rankingRepository.findRecentBetween("alice", "bob", Limit.of(2)))
+                .extracting(MatchEntity::getWinnerId)
+                .containsExactly("bob", "alice");
+    }
+
+    @Test
+    void shouldReportLostFirstInsertRaceAsDuplicateKey()
+    {
+        playerRankingRepository.saveAndFlush(new PlayerRankingEntity("alice", 0, 0, 0, 1500.0));
+        entityManager.clear();
+        PlayerRankingRepository missedLock = mock(PlayerRankingRepository.class, delegatesTo(playerRankingRepository));
+        doReturn(List.of()).when(missedLock).findAllForUpdate(anyCollection());
+        PlayerRankingUpdater updater = new PlayerRankingUpdater(missedLock, new EloRatingEngine(32, 1500));
+
+        assertThatThrownBy(() -> updater.apply(List.of(new Match(1L, "alice", "bob", "alice", AS_OF))))
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    private static MatchEntity match(String winnerId, LocalDateTime matchDate)
+    {
+        return match(winnerId, "opponent", winnerId, matchDate);
+    }
+
+    private static MatchEntity match(String player1Id, String player2Id, String winnerId, LocalDateTime matchDate)
+    {
+        MatchEntity match = new MatchEntity(player1Id, player2Id, winnerId);
+        match.setMatchDate(matchDate);
+        return match;
+    }
+}
@@ -0,0 +1,210 @@
+package com.miki.footballpitch.ranking;
+
+import com.miki.footballpitch.ranking.model.Match;
+import com.miki.footballpitch.ranking.model.MatchBatchResponse;
+import com.miki.footballpitch.ranking.model.MatchRecorded;
+import com.miki.footballpitch.ranking.model.MatchRequest;
+import com.miki.footballpitch.ranking.model.PlayerRanking;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RankingServiceTest
+{
+    @Mock
+    private RankingRepository rankingRepository;
+    @Mock
+    private PlayerRankingRepository playerRankingRepository;
+    @Mock
+    private MatchBatchProcessor matchBatchProcessor;
+
+    private final Map<String, PlayerRankingEntity> playerRankingTable = new TreeMap<>();
+    private final List<Object> publishedEvents = new ArrayList<>();
+    private RankingService rankingService;
+
+    @BeforeEach
+    void setUp()
+    {
+        RatingEngine ratingEngine = new EloRatingEngine(32, 1500);
+        rankingService = new RankingService(
+                rankingRepository,
+                playerRankingRepository,
+                ratingEngine,
+                null,
+                new PlayerRankingUpdater(playerRankingRepository, ratingEngine),
+                matchBatchProcessor,
+                null,
+                null,
+                null,
+                null,
+                publishedEvents::add,
+                TransactionOperations.withoutTransaction());
+
+        AtomicLong matchIds = new AtomicLong();
+        lenient().when(rankingRepository.save(any(MatchEntity.class))).thenAnswer(invocation ->
+        {
+            MatchEntity matchEntity = invocation.getArgument(0);
+            matchEntity.setId(matchIds.incrementAndGet());
+            return matchEntity;
+        });
+        lenient().when(playerRankingRepository.findAllForUpdate(anyCollection())).thenAnswer(invocation ->
+        {
+            Collection<String> playerIds = invocation.getArgument(0);
+            return playerRankingTable.values().stream()
+                    .filter(ranking -> playerIds.contains(ranking.getPlayerId()))
+                    .sorted(Comparator.comparing(PlayerRankingEntity::getPlayerId))
+                    .toList();
+        });
+        lenient().when(playerRankingRepository.saveAllAndFlush(anyCollection())).thenAnswer(invocation ->
+        {
+            Collection<PlayerRankingEntity> rankings = invocation.getArgument(0);
+            rankings.forEach(ranking -> playerRankingTable.put(ranking.getPlayerId(), ranking));
+            return List.copyOf(rankings);
+        });
+    }
+
+    @Test
+    void shouldCreateRankingsOnPlayersFirstMatch()
+    {
+        Match match = rankingService.submitMatchResult(new MatchRequest("alice", "bob", "alice"));
+
+        assertThat(match.id()).isEqualTo(1L);
+        assertThat(playerRankingTable.get("alice").mapToDto())
+                .extracting("points", "wins", "losses", "rating")
+                .containsExactly(3, 1, 0, 1516.0);
+        assertThat(playerRankingTable.get("bob").mapToDto())
+                .extracting("points", "wins", "losses", "rating")
+                .containsExactly(0, 0, 1, 1484.0);
+        assertThat(publishedEvents).singleElement().isInstanceOf(MatchRecorded.class);
+    }
+
+    @Test
+    void shouldAccumulateWinsAndLossesAcrossMatches()
+    {
+        rankingService.submitMatchResult(new MatchRequest("alice", "bob", "alice"));
+        rankingService.submitMatchResult(new MatchRequest("bob", "alice", "bob"));
+        rankingService.submitMatchResult(new MatchRequest("alice", "carol", "alice"));
+
+        assertThat(playerRankingTable.get("alice").mapToDto())
+                .extracting("points", "wins", "losses", "totalMatches")
+                .containsExactly(6, 2, 1, 3);
+        assertThat(playerRankingTable.get("bob").mapToDto())
+                .extracting("points", "wins", "losses", "totalMatches")
+                .containsExactly(3, 1, 1, 2);
+        assertThat(playerRankingTable.get("carol").mapToDto())
+                .extracting("points", "wins", "losses", "totalMatches")
+                .containsExactly(0, 0, 1, 1);
+        assertThat(playerRankingTable.get("alice").getRating()).isGreaterThan(1500.0);
+    }
+
+    @Test
+    void shouldRetryOnceWhenAnotherMatchInsertedTheNewPlayerFirst()
+    {
+        when(playerRankingRepository.saveAllAndFlush(anyCollection()))
+                .thenThrow(duplicatePlayerRankingKey())
+                .thenAnswer(invocation -> List.copyOf(invocation.<Collection<PlayerRankingEntity>>getArgument(0)));
+
+        Match match = rankingService.submitMatchResult(new MatchRequest("alice", "bob", "alice"));
+
+        assertThat(match.id()).isEqualTo(2L);
+        verify(playerRankingRepository, times(2)).findAllForUpdate(anyCollection());
+    }
+
+    @Test
+    void shouldRetryBatchOnceWhenItLostANewPlayerInsertRace()
+    {
+        List<MatchRequest> batch = List.of(new MatchRequest("alice", "bob", "alice"));
+        MatchBatchResponse accepted = MatchBatchResponse.of(List.of());
+        when(matchBatchProcessor.process(batch))
+                .thenThrow(new DuplicateKeyException("duplicate player_ranking key"))
+                .thenReturn(accepted);
+
+        assertThat(rankingService.submitMatchResults(batch)).isSameAs(accepted);
+        verify(matchBatchProcessor, times(2)).process(batch);
+    }
+
+    @Test
+    void shouldRejectMatchAgainstSelfWithoutTouchingRepositories()
+    {
+        assertThatThrownBy(() -> rankingService.submitMatchResult(new MatchRequest("alice", "alice", "alice")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("A player cannot play against themselves");
+
+        verifyNoInteractions(rankingRepository, playerRankingRepository);
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void shouldHoldSubmissionUntilRebuildHasLoadedTheLeaderboard() throws Exception
+    {
+        ParallelRankingRebuild parallelRankingRebuild = mock(ParallelRankingRebuild.class);
+        Leaderboard leaderboard = new Leaderboard();
+        RankingService rebuildingService = new RankingService(rankingRepository, playerRankingRepository,
+                new EloRatingEngine(32, 1500), parallelRankingRebuild,
+                new PlayerRankingUpdater(playerRankingRepository, new EloRatingEngine(32, 1500)), matchBatchProcessor,
+                leaderboard, null, null, null, publishedEvents::add, TransactionOperations.withoutTransaction());
+        CompletableFuture<Match> submission = new CompletableFuture<>();
+        Thread submitter = new Thread(() -> submission.complete(
+                rebuildingService.submitMatchResult(new MatchRequest("alice", "bob", "alice"))));
+        when(parallelRankingRebuild.rebuild()).thenAnswer(invocation ->
+        {
+            submitter.start();
+            while (submitter.getState() != Thread.State.WAITING)
+            {
+                Thread.sleep(1);
+            }
+            return List.of(PlayerRanking.create("carol", 3, 1, 0, 1516.0));
+        });
+
+        int rebuilt = rebuildingService.rebuildRankings();
+        Match submitted = submission.get(5, TimeUnit.SECONDS);
+
+        assertThat(rebuilt).isEqualTo(1);
+        assertThat(submitted.id()).isEqualTo(1L);
+        assertThat(leaderboard.find("carol")).isPresent();
+        InOrder order = inOrder(playerRankingRepository, rankingRepository);
+        order.verify(playerRankingRepository).deleteAllInBatch();
+        order.verify(playerRankingRepository).saveAll(anyCollection());
+        order.verify(rankingRepository).save(any(MatchEntity.class));
+        order.verify(playerRankingRepository).findAllForUpdate(anyCollection());
+    }
+
+    private static DataIntegrityViolationException duplicatePlayerRankingKey()
+    {
+        return new DataIntegrityViolationException("duplicate player_ranking key", new ConstraintViolationException(
+                "duplicate player_ranking key", new SQLException("duplicate", "23505"),
+                ConstraintViolationException.ConstraintKind.UNIQUE, "PRIMARY_KEY"));
+    }
+}